@@ -6,24 +6,86 @@ import persistence.Writable;
 // This class represents information on an appointment that was booked by a Patient.
 // This class references code from the JSonSerializationDemo project.
 public class Appointment implements Writable {
+    // the length of an appointment when none is given, in minutes
+    public static final int DEFAULT_DURATION = 30;
+
     private String name;
     private String time;
+    private long startMinute;
+    private Doctor doctor;
+    private int duration; // in minutes
+
+    // The list this appointment is booked in, and the slot it occupies there; kept so that the list's indexes can
+    // follow changes to the appointment. The order in which it was booked in that list never changes, and identifies
+    // it in the event log.
+    AppointmentList owner;
+    int slot = -1;
+    long sequence = -1;
 
     // An appointment must be booked with the name of a patient, and a certain time
     // constructor
-    // EFFECTS: constructs appointment with given name and time
+    // EFFECTS: constructs appointment with given name and time, with no doctor and the default duration
     public Appointment(String name, String time) {
+        this(name, time, null, DEFAULT_DURATION);
+    }
+
+    // constructor
+    // REQUIRES: duration > 0
+    // EFFECTS: constructs appointment with given name and time, with the given doctor (null if none) for the given
+    //          number of minutes
+    public Appointment(String name, String time, Doctor doctor, int duration) {
+        this(name, time, AppointmentTime.parse(time), doctor, duration);
+    }
+
+    // constructor
+    // REQUIRES: duration > 0
+    // EFFECTS: constructs appointment with given name and time, already resolved to startMinute (such as one read
+    //          back from file, whose time of day may have been given without a date), with the given doctor (null if
+    //          none) for the given number of minutes
+    public Appointment(String name, String time, long startMinute, Doctor doctor, int duration) {
         this.name = name;
         this.time = time;
+        this.startMinute = startMinute;
+        this.doctor = doctor;
+        this.duration = duration;
     }
 
     // Setter and Getter methods
+    // MODIFIES: this, owner
+    // EFFECTS: sets the name of the patient, and re-indexes the appointment in the list it is booked in
     public void setName(String name) {
+        beforeChange();
         this.name = name;
+        afterChange();
     }
 
+    // REQUIRES: if booked with a doctor, the new time does not overlap another appointment with that doctor
+    // MODIFIES: this, owner
+    // EFFECTS: sets the booked time, parses it once into an epoch minute, and re-indexes the appointment in the list
+    //          it is booked in
     public void setTime(String time) {
+        beforeChange();
         this.time = time;
+        this.startMinute = AppointmentTime.parse(time);
+        afterChange();
+    }
+
+    // REQUIRES: the appointment does not overlap another appointment with the new doctor
+    // MODIFIES: this, owner
+    // EFFECTS: sets the doctor (null if none), and re-indexes the appointment in the list it is booked in
+    public void setDoctor(Doctor doctor) {
+        beforeChange();
+        this.doctor = doctor;
+        afterChange();
+    }
+
+    // REQUIRES: duration > 0, and the longer appointment does not overlap another appointment with the same doctor
+    // MODIFIES: this, owner
+    // EFFECTS: sets the duration in minutes, and re-indexes the appointment in the list it is booked in
+    public void setDuration(int duration) {
+        beforeChange();
+        this.duration = duration;
+        afterChange();
     }
 
     public String getName() {
@@ -34,13 +96,58 @@ public class Appointment implements Writable {
         return this.time;
     }
 
+    // EFFECTS: returns the booked time in minutes since the epoch, or AppointmentTime.UNSCHEDULED if the booked time
+    //          could not be understood
+    public long getStartMinute() {
+        return this.startMinute;
+    }
+
+    // EFFECTS: returns the minute since the epoch at which the appointment ends, or AppointmentTime.UNSCHEDULED if
+    //          the booked time could not be understood
+    public long getEndMinute() {
+        return startMinute == AppointmentTime.UNSCHEDULED ? AppointmentTime.UNSCHEDULED : startMinute + duration;
+    }
+
+    public Doctor getDoctor() {
+        return this.doctor;
+    }
+
+    public int getDuration() {
+        return this.duration;
+    }
+
+    // MODIFIES: owner
+    // EFFECTS: takes this appointment out of the indexes of the list it is booked in, before it is changed
+    private void beforeChange() {
+        if (owner != null) {
+            owner.unindex(this);
+        }
+    }
+
+    // MODIFIES: owner
+    // EFFECTS: puts this appointment back into the indexes of the list it is booked in, after it has been changed
+    private void afterChange() {
+        if (owner != null) {
+            owner.index(this);
+        }
+    }
+
     // converts appointment to JSon object
-    // EFFECTS: converts given appointment to JSon object
+    // EFFECTS: converts given appointment to JSon object, with the time it was booked with as given and, if it was
+    //          understood, the date and time it was resolved to, so that it is read back at the same time
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
         json.put("name", name);
         json.put("time", time);
+        if (startMinute != AppointmentTime.UNSCHEDULED) {
+            json.put("start", AppointmentTime.format(startMinute));
+        }
+        json.put("duration", duration);
+        if (doctor != null) {
+            json.put("doctor", doctor.getDoctorName());
+            json.put("department", doctor.getDepartment());
+        }
         return json;
     }
 }
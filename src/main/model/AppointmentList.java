@@ -1,67 +1,290 @@
 package model;
 
+import model.exceptions.DoubleBookingException;
 import model.exceptions.EmptyListException;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import persistence.Writable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.TreeMap;
 
 // This class represents a list of Appointments.
 // This class references code from the JSonSerializationDemo project.
 // This code references the AlarmSystem code given by the course.
+// Appointments are indexed by the name of the patient they were booked for, and by their start time, so that the
+// appointments booked in a range of time can be found in O(log n + k) time, and each doctor's appointments are kept in
+// an interval tree so that a booking overlapping another one with the same doctor is rejected in O(log n) time. A slot
+// calendar of every doctor's free time is kept alongside, and each doctor's load on each day is kept up to date in its
+// list of doctors. Appointments whose time could not be understood are kept in the list but not in the indexes.
+// Changes to the list are synchronized, so several booking terminals can book appointments at once, and the list of
+// appointments is read as a copy made under the same lock, so it can be shown while others are being booked.
 public class AppointmentList implements Writable {
-    private ArrayList<Appointment> appointments;
+    private SlotList<Appointment> appointments;
+    private HashMap<String, List<Appointment>> appointmentsByName;
+    private TreeMap<Long, List<Appointment>> appointmentsByTime;
+    private HashMap<Doctor, IntervalTree<Appointment>> schedules;
+    private SlotCalendar calendar;
+    private long nextSequence;
 
     // constructor
     // EFFECTS: constructs an empty list of appointments
     public AppointmentList() {
-        appointments = new ArrayList<>();
+        appointments = new SlotList<>(a -> a.slot, (a, slot) -> a.slot = slot);
+        appointmentsByName = new HashMap<>();
+        appointmentsByTime = new TreeMap<>();
+        schedules = new HashMap<>();
+        calendar = new SlotCalendar();
+    }
+
+    // get calendar of free time
+    // EFFECTS: returns the slot calendar showing when each doctor is free; it is kept up to date by this list
+    public SlotCalendar getCalendar() {
+        return this.calendar;
     }
 
     // get list of appointments
-    // EFFECTS: returns list of appointments
-    public List<Appointment> getAppointments() {
-        return this.appointments;
+    // EFFECTS: returns a read-only copy of the list of appointments as it is now, in the order they were booked
+    public synchronized List<Appointment> getAppointments() {
+        return Collections.unmodifiableList(new ArrayList<>(this.appointments));
     }
 
     // add appointment to list of appointments
-    // EFFECTS: adds appointment to list of appointments, and logs the event
-    public void addAppointment(Appointment a) {
-        appointments.add(a);
-        EventLog.getInstance().logEvent(new Event("Appointment added to list of appointments."));
+    // MODIFIES: this, a
+    // EFFECTS: if a overlaps another appointment with the same doctor, throws DoubleBookingException; otherwise adds
+    //          appointment to list of appointments, and logs the event
+    public synchronized void addAppointment(Appointment a) throws DoubleBookingException {
+        checkFree(a);
+        attach(a);
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.APPOINTMENT, a.sequence));
+    }
+
+    // add many appointments to list of appointments at once
+    // MODIFIES: this, as
+    // EFFECTS: if any appointment in as overlaps another appointment with the same doctor, in this list or in as,
+    //          throws DoubleBookingException and adds none of them; otherwise adds all appointments in as to list of
+    //          appointments in order, growing the list only once, and logs a single event with the number added
+    public synchronized void addAll(Collection<Appointment> as) throws DoubleBookingException {
+        appointments.ensureExtraCapacity(as.size());
+        List<Appointment> added = new ArrayList<>(as.size());
+        try {
+            for (Appointment a : as) {
+                checkFree(a);
+                attach(a);
+                added.add(a);
+            }
+        } catch (DoubleBookingException e) {
+            for (Appointment a : added) {
+                detach(a);
+            }
+            throw e;
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.APPOINTMENT, Event.NO_ID,
+                as.size()));
+    }
+
+    // book with the least loaded doctor
+    // REQUIRES: every doctor that appointments in this list are booked with is in dl
+    // MODIFIES: this, a, dl
+    // EFFECTS: books a with the doctor of the given department in dl who is booked for the fewest minutes on the day
+    //          of a (today, if a has no time) among those free for the time of a, adds it to list of appointments,
+    //          logs the event, and returns that doctor; returns null, and books nothing, if no doctor of department is
+    //          free then
+    public synchronized Doctor bookWithLeastLoaded(Appointment a, DoctorList dl, String department) {
+        boolean unscheduled = a.getStartMinute() == AppointmentTime.UNSCHEDULED;
+        long day = AppointmentTime.dayOf(unscheduled ? AppointmentTime.now() : a.getStartMinute());
+        Doctor doctor = dl.leastLoaded(department, day, d -> unscheduled
+                || findConflict(d, a.getStartMinute(), a.getDuration()) == null);
+        if (doctor != null) {
+            a.setDoctor(doctor);
+            attach(a);
+            EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.APPOINTMENT, a.sequence));
+        }
+        return doctor;
+    }
+
+    // find a conflicting booking
+    // EFFECTS: returns an appointment with doctor d that overlaps the given number of minutes from start (an epoch
+    //          minute), or null if d is free for all of that time
+    public synchronized Appointment findConflict(Doctor d, long start, int duration) {
+        IntervalTree<Appointment> schedule = schedules.get(d);
+        return schedule == null ? null : schedule.findOverlap(start, start + duration);
     }
 
     // remove appointment from list of appointments
-    // REQUIRES: no duplicate names in appointments
-    // EFFECTS: removes appointment from list of appointments, and logs the event
-    public void removeAppointment(String appointmentToRemove) throws EmptyListException {
-
-        if (appointments.size() != 0) {
-            for (Appointment appointment : appointments) {
-                if (appointment.getName().equals(appointmentToRemove)) {
-                    appointments.remove(appointment);
-                    break;
+    // MODIFIES: this
+    // EFFECTS: removes the earliest-booked appointment for the patient with the given name from list of appointments,
+    //          and logs the event
+    public synchronized void removeAppointment(String appointmentToRemove) throws EmptyListException {
+        checkNotEmpty();
+        List<Appointment> booked = appointmentsByName.get(appointmentToRemove);
+        long removed = Event.NO_ID;
+        if (booked != null) {
+            removed = booked.get(0).sequence;
+            detach(booked.get(0));
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.REMOVED, EntityKind.APPOINTMENT, removed));
+    }
+
+    // remove all appointments of a patient
+    // MODIFIES: this
+    // EFFECTS: removes every appointment for the patient with the given name from list of appointments, logs the
+    //          event, and returns the number of appointments removed
+    public synchronized int removeAll(String name) throws EmptyListException {
+        checkNotEmpty();
+        List<Appointment> booked = appointmentsFor(name);
+        for (Appointment a : booked) {
+            detach(a);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.REMOVED, EntityKind.APPOINTMENT, Event.NO_ID,
+                booked.size()));
+        return booked.size();
+    }
+
+    // appointments of a patient
+    // EFFECTS: returns the appointments booked for the patient with the given name, in the order they were booked
+    public synchronized List<Appointment> appointmentsFor(String name) {
+        List<Appointment> booked = appointmentsByName.get(name);
+        return booked == null ? new ArrayList<>() : new ArrayList<>(booked);
+    }
+
+    // appointments in a range of time
+    // EFFECTS: returns the appointments starting at or after from and before to (both epoch minutes), in order of
+    //          start time
+    public synchronized List<Appointment> between(long from, long to) {
+        List<Appointment> found = new ArrayList<>();
+        if (from < to) {
+            for (List<Appointment> sameTime : appointmentsByTime.subMap(from, true, to, false).values()) {
+                found.addAll(sameTime);
+            }
+        }
+        return found;
+    }
+
+    // next appointments
+    // EFFECTS: returns up to n of the appointments starting from now onwards, in order of start time
+    public List<Appointment> next(int n) {
+        return next(AppointmentTime.now(), n);
+    }
+
+    // next appointments
+    // EFFECTS: returns up to n of the appointments starting at or after from (an epoch minute), in order of start time
+    public synchronized List<Appointment> next(long from, int n) {
+        List<Appointment> found = new ArrayList<>(Math.min(n, 16));
+        for (List<Appointment> sameTime : appointmentsByTime.tailMap(from, true).values()) {
+            for (Appointment a : sameTime) {
+                if (found.size() == n) {
+                    return found;
                 }
+                found.add(a);
             }
-            EventLog.getInstance().logEvent(new Event("Appointment has been removed from list of "
-                    + "appointments."));
-        } else {
-            throw new EmptyListException("The list is empty!");
         }
+        return found;
+    }
+
+    // number of appointments in a range of time
+    // EFFECTS: returns the number of appointments starting at or after from and before to (both epoch minutes)
+    public synchronized int countInRange(long from, long to) {
+        int count = 0;
+        if (from < to) {
+            for (List<Appointment> sameTime : appointmentsByTime.subMap(from, true, to, false).values()) {
+                count += sameTime.size();
+            }
+        }
+        return count;
     }
 
     // get length of list
     // EFFECTS: returns length of list of appointments
-    public int length() {
+    public synchronized int length() {
         return appointments.size();
     }
 
+    // MODIFIES: this
+    // EFFECTS: adds a to the name index, and to the time index, its doctor's schedule and its doctor's load unless it
+    //          is unscheduled; also called by a after it has been changed
+    synchronized void index(Appointment a) {
+        appointmentsByName.computeIfAbsent(a.getName(), n -> new ArrayList<>(1)).add(a);
+        if (a.getStartMinute() == AppointmentTime.UNSCHEDULED) {
+            return;
+        }
+        appointmentsByTime.computeIfAbsent(a.getStartMinute(), t -> new ArrayList<>(1)).add(a);
+        if (a.getDoctor() != null) {
+            schedules.computeIfAbsent(a.getDoctor(), d -> new IntervalTree<>())
+                    .insert(a.getStartMinute(), a.getEndMinute(), a);
+            calendar.book(a.getDoctor(), a.getStartMinute(), a.getEndMinute());
+            a.getDoctor().book(AppointmentTime.dayOf(a.getStartMinute()), a.getDuration());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes a from every index; also called by a before it is changed
+    synchronized void unindex(Appointment a) {
+        List<Appointment> sameName = appointmentsByName.get(a.getName());
+        sameName.remove(a);
+        if (sameName.isEmpty()) {
+            appointmentsByName.remove(a.getName());
+        }
+        List<Appointment> sameTime = appointmentsByTime.get(a.getStartMinute());
+        if (sameTime == null) {
+            return;
+        }
+        sameTime.remove(a);
+        if (sameTime.isEmpty()) {
+            appointmentsByTime.remove(a.getStartMinute());
+        }
+        IntervalTree<Appointment> schedule = schedules.get(a.getDoctor());
+        if (schedule != null) {
+            schedule.remove(a.getStartMinute(), a);
+            calendar.release(a.getDoctor(), a.getStartMinute(), a.getEndMinute(), schedule);
+            a.getDoctor().book(AppointmentTime.dayOf(a.getStartMinute()), -a.getDuration());
+        }
+    }
+
+    // EFFECTS: throws DoubleBookingException if a overlaps another appointment booked with the same doctor
+    private void checkFree(Appointment a) throws DoubleBookingException {
+        if (a.getDoctor() == null || a.getStartMinute() == AppointmentTime.UNSCHEDULED) {
+            return;
+        }
+        Appointment conflict = findConflict(a.getDoctor(), a.getStartMinute(), a.getDuration());
+        if (conflict != null) {
+            throw new DoubleBookingException("Dr. " + a.getDoctor().getDoctorName() + " is already booked with "
+                    + conflict.getName() + " at " + conflict.getTime() + ".");
+        }
+    }
+
+    // EFFECTS: throws EmptyListException if there are no appointments in the list
+    private void checkNotEmpty() throws EmptyListException {
+        if (appointments.size() == 0) {
+            throw new EmptyListException("The list is empty!");
+        }
+    }
+
+    // MODIFIES: this, a
+    // EFFECTS: adds a to the end of the list and to the indexes, numbering it in the order it was booked
+    private void attach(Appointment a) {
+        appointments.add(a);
+        a.owner = this;
+        a.sequence = nextSequence++;
+        index(a);
+    }
+
+    // MODIFIES: this, a
+    // EFFECTS: removes a from the list and from the indexes
+    private void detach(Appointment a) {
+        appointments.delete(a);
+        unindex(a);
+        a.owner = null;
+    }
+
     // parses the list and converts each appointment to Json
     // EFFECTS: converts each appointment in given list of appointments to JSon object
     @Override
-    public JSONObject toJson() {
+    public synchronized JSONObject toJson() {
         JSONObject json = new JSONObject();
         json.put("appointments", appointmentsToJson());
         return json;
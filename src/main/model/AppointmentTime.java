@@ -0,0 +1,96 @@
+package model;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// This class converts the free-form times that appointments are booked with into minutes since the epoch
+// (1970-01-01 00:00, local time), so that appointments can be ordered and searched by time without re-parsing text.
+// Accepted forms are a time of day such as "9:30 am", "3:30am", "530 pm" or "14:00", optionally preceded by a date
+// such as "2021-11-18". A time of day without a date is taken to be on the day it is parsed, so an appointment keeps
+// the time it was resolved to (written out by format) rather than parsing its text again later.
+public final class AppointmentTime {
+    // the value given to appointments whose time could not be understood
+    public static final long UNSCHEDULED = Long.MIN_VALUE;
+
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int MINUTES_PER_DAY = 24 * MINUTES_PER_HOUR;
+    private static final Pattern FORMAT = Pattern.compile(
+            "(?:(\\d{4})-(\\d{1,2})-(\\d{1,2})[\\sT]+)?(\\d{1,2}):?(\\d{2})?\\s*(?:([ap])\\.?m\\.?)?",
+            Pattern.CASE_INSENSITIVE);
+
+    private AppointmentTime() {
+    }
+
+    // EFFECTS: returns the epoch minute of text, taking a bare time of day to be today;
+    //          returns UNSCHEDULED if text is not a recognized time
+    public static long parse(String text) {
+        return parse(text, LocalDate.now());
+    }
+
+    // EFFECTS: returns the epoch minute of text, taking a bare time of day to be on the given day;
+    //          returns UNSCHEDULED if text is not a recognized time
+    public static long parse(String text, LocalDate today) {
+        if (text == null) {
+            return UNSCHEDULED;
+        }
+        Matcher m = FORMAT.matcher(text.trim());
+        if (!m.matches()) {
+            return UNSCHEDULED;
+        }
+        int hour = Integer.parseInt(m.group(4));
+        int minute = m.group(5) == null ? 0 : Integer.parseInt(m.group(5));
+        hour = toTwentyFourHour(hour, m.group(6));
+        if (hour < 0 || minute >= MINUTES_PER_HOUR) {
+            return UNSCHEDULED;
+        }
+        try {
+            LocalDate day = m.group(1) == null ? today : LocalDate.of(Integer.parseInt(m.group(1)),
+                    Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)));
+            return day.toEpochDay() * MINUTES_PER_DAY + hour * MINUTES_PER_HOUR + minute;
+        } catch (DateTimeException e) {
+            return UNSCHEDULED;
+        }
+    }
+
+    // REQUIRES: epochMinute is not UNSCHEDULED
+    // EFFECTS: returns the given epoch minute as a date and a 24-hour time, such as "2021-11-18 14:05", which parse
+    //          turns back into the same epoch minute on any day
+    public static String format(long epochMinute) {
+        long minuteOfDay = Math.floorMod(epochMinute, MINUTES_PER_DAY);
+        return String.format("%s %02d:%02d", LocalDate.ofEpochDay(dayOf(epochMinute)),
+                minuteOfDay / MINUTES_PER_HOUR, minuteOfDay % MINUTES_PER_HOUR);
+    }
+
+    // EFFECTS: returns the epoch minute of the given date and time
+    public static long of(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+                + dateTime.getHour() * MINUTES_PER_HOUR + dateTime.getMinute();
+    }
+
+    // REQUIRES: epochMinute is not UNSCHEDULED
+    // EFFECTS: returns the epoch day that the given epoch minute falls on
+    public static long dayOf(long epochMinute) {
+        return Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+    }
+
+    // EFFECTS: returns the epoch minute of the current date and time
+    public static long now() {
+        return of(LocalDateTime.now());
+    }
+
+    // EFFECTS: returns hour on a 24-hour clock given its am/pm marker (null if there is none),
+    //          or -1 if the hour is out of range
+    private static int toTwentyFourHour(int hour, String marker) {
+        if (marker == null) {
+            return hour < 24 ? hour : -1;
+        }
+        if (hour < 1 || hour > 12) {
+            return -1;
+        }
+        boolean pm = marker.equalsIgnoreCase("p");
+        return hour % 12 + (pm ? 12 : 0);
+    }
+}
@@ -0,0 +1,84 @@
+package model;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+// This enum represents the blood type of a medical record: its ABO group, and its Rh factor when that is known.
+// Older records only give the ABO group (such as "O"), so each group also has a value without an Rh factor, and a
+// record without a blood type is UNKNOWN. A blood type is written as its label, such as "O-", "AB+" or "A".
+public enum BloodType {
+    O_NEGATIVE("O-", 0, -1),
+    O_POSITIVE("O+", 0, 1),
+    A_NEGATIVE("A-", BloodType.ANTIGEN_A, -1),
+    A_POSITIVE("A+", BloodType.ANTIGEN_A, 1),
+    B_NEGATIVE("B-", BloodType.ANTIGEN_B, -1),
+    B_POSITIVE("B+", BloodType.ANTIGEN_B, 1),
+    AB_NEGATIVE("AB-", BloodType.ANTIGEN_A | BloodType.ANTIGEN_B, -1),
+    AB_POSITIVE("AB+", BloodType.ANTIGEN_A | BloodType.ANTIGEN_B, 1),
+    O("O", 0, 0),
+    A("A", BloodType.ANTIGEN_A, 0),
+    B("B", BloodType.ANTIGEN_B, 0),
+    AB("AB", BloodType.ANTIGEN_A | BloodType.ANTIGEN_B, 0),
+    UNKNOWN("", 0, 0);
+
+    private static final int ANTIGEN_A = 1;
+    private static final int ANTIGEN_B = 2;
+    private static final BloodType[] VALUES = values();
+
+    private final String label;
+    private final int antigens;
+    // 1 if Rh positive, -1 if Rh negative, 0 if not known
+    private final int rh;
+
+    BloodType(String label, int antigens, int rh) {
+        this.label = label;
+        this.antigens = antigens;
+        this.rh = rh;
+    }
+
+    // EFFECTS: returns the blood type written as text, ignoring case and spaces, where the Rh factor may be written as
+    //          +/-, pos/neg or positive/negative; a null or blank text is UNKNOWN;
+    //          throws IllegalArgumentException if text is not a blood type
+    public static BloodType parse(String text) {
+        String key = text == null ? "" : text.replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+        key = key.replace("POSITIVE", "+").replace("NEGATIVE", "-").replace("POS", "+").replace("NEG", "-");
+        for (BloodType t : VALUES) {
+            if (t.label.equals(key)) {
+                return t;
+            }
+        }
+        throw new IllegalArgumentException("Not a blood type: " + text);
+    }
+
+    // EFFECTS: returns the blood type with the given ordinal
+    static BloodType ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    // EFFECTS: returns true if blood of this type can safely be given to a recipient of the given type; a blood type
+    //          without an Rh factor is taken to be Rh positive as a donor and Rh negative as a recipient, and UNKNOWN
+    //          can neither give nor receive
+    public boolean canDonateTo(BloodType recipient) {
+        if (this == UNKNOWN || recipient == UNKNOWN) {
+            return false;
+        }
+        return (antigens & ~recipient.antigens) == 0 && (rh < 0 || recipient.rh > 0);
+    }
+
+    // EFFECTS: returns the blood types that can safely be given to a recipient of the given type
+    public static EnumSet<BloodType> donorsFor(BloodType recipient) {
+        EnumSet<BloodType> donors = EnumSet.noneOf(BloodType.class);
+        for (BloodType t : VALUES) {
+            if (t.canDonateTo(recipient)) {
+                donors.add(t);
+            }
+        }
+        return donors;
+    }
+
+    // EFFECTS: returns the label of this blood type
+    @Override
+    public String toString() {
+        return label;
+    }
+}
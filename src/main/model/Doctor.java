@@ -1,22 +1,22 @@
 package model;
 
+import org.json.JSONObject;
+import persistence.Writable;
+
 // This class represents information on a doctor currently employed at the hospital.
-public class Doctor {
+// The doctors of the hospital are loaded from the doctor directory file rather than written into the program.
+// A doctor also keeps its load: the number of minutes of appointments it is booked for, in all and on each day.
+public class Doctor implements Writable {
 
     // A doctor has a name, and department
     private String doctorName;
     private String department;
 
-    // Values for doctors at this hospital are final
-    public static final Doctor D1 = new Doctor("Mika Pascual", "Cardiology");
-    public static final Doctor D2 = new Doctor("Toni O'Brien", "Pediatrics");
-    public static final Doctor D3 = new Doctor("Katie Short", "Oncology");
-    public static final Doctor D4 = new Doctor("Hayley Archer", "Kinesiology");
-    public static final Doctor D5 = new Doctor("Trent Hartley", "Urology");
-    public static final Doctor D6 = new Doctor("Owen Hart", "Radiology");
-    public static final Doctor D7 = new Doctor("Kaylee Neale", "Neurology");
-    public static final Doctor D8 = new Doctor("Ashley Daugherty", "Pharmacy");
-    public static final Doctor D9 = new Doctor("Ronan Hawkins", "Pathology");
+    // the list this doctor is in, which is told when the doctor's name, department or load changes and keeps its load
+    // on each day, and the order in which it was added there; the total load is guarded by the list
+    DoctorList owner;
+    int sequence;
+    long bookedMinutes;
 
     // constructor
     // EFFECTS: constructs a doctor with given name and department
@@ -26,12 +26,24 @@ public class Doctor {
     }
 
     // Setter and Getter methods
+    // MODIFIES: this, owner
+    // EFFECTS: sets the name of this doctor, and moves it to its new name in its list's indexes
     public void setDoctorName(String doctorName) {
+        String oldName = this.doctorName;
         this.doctorName = doctorName;
+        if (owner != null) {
+            owner.nameChanged(this, oldName);
+        }
     }
 
+    // MODIFIES: this, owner
+    // EFFECTS: sets the department of this doctor, and moves it to its new department in its list's indexes
     public void setDepartment(String department) {
+        String oldDepartment = this.department;
         this.department = department;
+        if (owner != null) {
+            owner.departmentChanged(this, oldDepartment);
+        }
     }
 
     public String getDoctorName() {
@@ -42,4 +54,40 @@ public class Doctor {
         return this.department;
     }
 
+    // EFFECTS: returns the number of minutes of appointments this doctor is booked for
+    public long getBookedMinutes() {
+        if (owner == null) {
+            return this.bookedMinutes;
+        }
+        synchronized (owner) {
+            return this.bookedMinutes;
+        }
+    }
+
+    // EFFECTS: returns the number of minutes of appointments this doctor is booked for on the given epoch day; a
+    //          doctor that is not in a list of doctors keeps only its total load, and is booked for 0 minutes
+    public long getBookedMinutes(long day) {
+        return owner == null ? 0 : owner.loadOn(this, day);
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: adds the given number of minutes (negative when an appointment is taken away) to this doctor's load on
+    //          the given epoch day, and moves it to its new place in its list's load heap for that day
+    void book(long day, long minutes) {
+        if (owner == null) {
+            this.bookedMinutes += minutes;
+        } else {
+            owner.loadChanged(this, day, minutes);
+        }
+    }
+
+    // converts doctor to JSon object
+    // EFFECTS: converts given doctor to JSon object
+    @Override
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("name", getDoctorName());
+        json.put("department", getDepartment());
+        return json;
+    }
 }
@@ -1,48 +1,245 @@
 package model;
 
+import org.json.JSONArray;
+import org.json.JSONObject;
+import persistence.Writable;
+
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-
-import static model.Doctor.*;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
 
 // This class represents information on a list of doctors.
+// This class references code from the JSonSerializationDemo project.
 // This code references the AlarmSystem code given by the course.
-public class DoctorList {
+// Doctors are kept in the order they were added, and are also indexed by name, by department and by case-insensitive
+// name prefix, so that a directory of thousands of doctors can be browsed without scanning it.
+// For each day that a department has appointments on, its doctors are also kept in a heap ordered by their load that
+// day, so that an appointment can be given to the doctor of a department least loaded on its day in O(log d) time. A
+// day's heap is made when the first appointment of the department is booked on it, and dropped when the last one is
+// taken away. Changes to the list and to loads are synchronized, so several booking terminals can assign doctors at
+// once.
+public class DoctorList implements Writable {
     private ArrayList<Doctor> doctors;
+    private HashMap<String, Doctor> doctorsByName;
+    private TreeMap<String, List<Doctor>> doctorsByDepartment;
+    private HashMap<String, HashMap<Long, DoctorLoadHeap>> loadsByDepartment;
+    private NameTrie<Doctor> namePrefixes;
 
     // constructor
     // EFFECTS: constructs empty list of doctors
     public DoctorList() {
         doctors = new ArrayList<>();
-    }
-
-    // initialize list of doctors
-    // MODIFIES: doctors
-    // EFFECTS: initializes list of doctors with all doctors currently employed at the hospital, and logs the event
-    public void initDoctors() {
-        addDoctor(D1);
-        addDoctor(D2);
-        addDoctor(D3);
-        addDoctor(D4);
-        addDoctor(D5);
-        addDoctor(D6);
-        addDoctor(D7);
-        addDoctor(D8);
-        addDoctor(D9);
-        EventLog.getInstance().logEvent(new Event("List of doctors has been initialized with final "
-                + "variables."));
+        doctorsByName = new HashMap<>();
+        doctorsByDepartment = new TreeMap<>();
+        loadsByDepartment = new HashMap<>();
+        namePrefixes = new NameTrie<>();
     }
 
     // get list of doctors
-    // EFFECTS: returns list of doctors
+    // EFFECTS: returns a read-only list of doctors, in the order they were added
     public List<Doctor> getDoctors() {
-        return this.doctors;
+        return Collections.unmodifiableList(this.doctors);
+    }
+
+    // find doctor by name
+    // EFFECTS: returns the doctor with the given name, or null if there is no such doctor
+    public synchronized Doctor findByName(String name) {
+        return doctorsByName.get(name);
+    }
+
+    // search doctors by name prefix
+    // EFFECTS: returns up to k doctors whose names start with prefix, ignoring case, in alphabetical order of name
+    public synchronized List<Doctor> searchByName(String prefix, int k) {
+        return namePrefixes.search(prefix, k);
+    }
+
+    // get doctors in a department
+    // EFFECTS: returns the doctors working in the given department, in the order they were added
+    public synchronized List<Doctor> getDoctorsIn(String department) {
+        List<Doctor> found = doctorsByDepartment.get(department);
+        return found == null ? new ArrayList<>() : new ArrayList<>(found);
+    }
+
+    // get departments
+    // EFFECTS: returns the departments that at least one doctor works in, in alphabetical order
+    public synchronized List<String> getDepartments() {
+        return new ArrayList<>(doctorsByDepartment.keySet());
+    }
+
+    // find least loaded doctor
+    // EFFECTS: returns the doctor of the given department booked for the fewest minutes on the given epoch day (the
+    //          earliest added, among equally loaded doctors), or null if no doctor works in department
+    public Doctor leastLoaded(String department, long day) {
+        return leastLoaded(department, day, d -> true);
+    }
+
+    // find least loaded available doctor
+    // EFFECTS: returns the doctor of the given department for whom available is true that is booked for the fewest
+    //          minutes on the given epoch day (the earliest added, among equally loaded doctors), or null if there is
+    //          none
+    public synchronized Doctor leastLoaded(String department, long day, Predicate<Doctor> available) {
+        DoctorLoadHeap loads = loadsByDepartment.getOrDefault(department, new HashMap<>()).get(day);
+        if (loads != null) {
+            return loads.leastLoaded(available);
+        }
+        for (Doctor d : doctorsByDepartment.getOrDefault(department, Collections.emptyList())) {
+            if (available.test(d)) {
+                return d;
+            }
+        }
+        return null;
     }
 
     // add doctor to list of doctors
-    // EFFECTS: adds doctor to list of doctors, and logs the event
-    public void addDoctor(Doctor d) {
+    // REQUIRES: d is not in any other list of doctors
+    // MODIFIES: this, d
+    // EFFECTS: adds doctor to list of doctors, indexes it, and logs the event
+    public synchronized void addDoctor(Doctor d) {
+        attach(d);
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.DOCTOR, d.sequence));
+    }
+
+    // add many doctors to list of doctors at once
+    // REQUIRES: none of the doctors are in any list of doctors
+    // MODIFIES: this, ds
+    // EFFECTS: adds all doctors in ds to list of doctors in order, and logs a single event with the number added
+    public synchronized void addAll(Collection<Doctor> ds) {
+        doctors.ensureCapacity(doctors.size() + ds.size());
+        for (Doctor d : ds) {
+            attach(d);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.DOCTOR, Event.NO_ID,
+                ds.size()));
+    }
+
+    // get length of list
+    // EFFECTS: returns length of list of doctors
+    public synchronized int length() {
+        return doctors.size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves d to its new name in the name indexes; called by d when its name is set
+    synchronized void nameChanged(Doctor d, String oldName) {
+        doctorsByName.remove(oldName, d);
+        doctorsByName.put(d.getDoctorName(), d);
+        namePrefixes.remove(oldName, d);
+        namePrefixes.add(d.getDoctorName(), d);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves d, and its load on each day, to its new department in the department index and load heaps;
+    //          called by d when its department is set
+    synchronized void departmentChanged(Doctor d, String oldDepartment) {
+        List<Doctor> department = doctorsByDepartment.get(oldDepartment);
+        department.remove(d);
+        if (department.isEmpty()) {
+            doctorsByDepartment.remove(oldDepartment);
+        }
+        HashMap<Long, Long> booked = new HashMap<>();
+        HashMap<Long, DoctorLoadHeap> days = loadsByDepartment.get(oldDepartment);
+        if (days != null) {
+            for (Map.Entry<Long, DoctorLoadHeap> day : days.entrySet()) {
+                booked.put(day.getKey(), day.getValue().remove(d));
+            }
+            days.values().removeIf(loads -> loads.total() == 0);
+            if (days.isEmpty()) {
+                loadsByDepartment.remove(oldDepartment);
+            }
+        }
+        addToDepartment(d);
+        for (Map.Entry<Long, Long> day : booked.entrySet()) {
+            if (day.getValue() != 0) {
+                addLoad(d, day.getKey(), day.getValue());
+            }
+        }
+    }
+
+    // MODIFIES: this, d
+    // EFFECTS: adds the given number of minutes to the load of d on the given epoch day, and moves it to its new place
+    //          in its department's load heap for that day; called by d when an appointment with it is booked or taken
+    //          away
+    synchronized void loadChanged(Doctor d, long day, long minutes) {
+        d.bookedMinutes += minutes;
+        addLoad(d, day, minutes);
+    }
+
+    // EFFECTS: returns the number of minutes d is booked for on the given epoch day
+    synchronized long loadOn(Doctor d, long day) {
+        DoctorLoadHeap loads = loadsByDepartment.getOrDefault(d.getDepartment(), new HashMap<>()).get(day);
+        return loads == null ? 0 : loads.load(d);
+    }
+
+    // MODIFIES: this, d
+    // EFFECTS: adds d to the end of the list and to every index
+    private void attach(Doctor d) {
+        d.sequence = doctors.size();
         doctors.add(d);
-        EventLog.getInstance().logEvent(new Event("Doctor has been added to list of doctors."));
+        d.owner = this;
+        doctorsByName.put(d.getDoctorName(), d);
+        namePrefixes.add(d.getDoctorName(), d);
+        addToDepartment(d);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds d to the end of the doctors of its department, and to each of its department's load heaps with
+    //          nothing booked
+    private void addToDepartment(Doctor d) {
+        doctorsByDepartment.computeIfAbsent(d.getDepartment(), dept -> new ArrayList<>()).add(d);
+        HashMap<Long, DoctorLoadHeap> days = loadsByDepartment.get(d.getDepartment());
+        if (days != null) {
+            for (DoctorLoadHeap loads : days.values()) {
+                loads.add(d, 0);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the given number of minutes to the load of d on the given epoch day, first making the load heap of
+    //          its department for that day (with every doctor of the department in it) if there is none, and dropping
+    //          it if nobody in the department is booked that day any more
+    private void addLoad(Doctor d, long day, long minutes) {
+        HashMap<Long, DoctorLoadHeap> days = loadsByDepartment.computeIfAbsent(d.getDepartment(),
+                dept -> new HashMap<>());
+        DoctorLoadHeap loads = days.get(day);
+        if (loads == null) {
+            loads = new DoctorLoadHeap();
+            for (Doctor colleague : doctorsByDepartment.get(d.getDepartment())) {
+                loads.add(colleague, 0);
+            }
+            days.put(day, loads);
+        }
+        loads.addLoad(d, minutes);
+        if (loads.total() == 0) {
+            days.remove(day);
+            if (days.isEmpty()) {
+                loadsByDepartment.remove(d.getDepartment());
+            }
+        }
+    }
+
+    // parses the list and converts each doctor to Json
+    // EFFECTS: converts each doctor in the list to a JSon object, and returns them in a JSon object
+    @Override
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("doctors", doctorsToJson());
+        return json;
+    }
+
+    // EFFECTS: returns doctors in this doctor list as a JSON array
+    private JSONArray doctorsToJson() {
+        JSONArray jsonArray = new JSONArray();
+
+        for (Doctor d : doctors) {
+            jsonArray.put(d.toJson());
+        }
+
+        return jsonArray;
     }
 }
@@ -0,0 +1,157 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+// This class represents the doctors of one department ordered by their load on one day: a binary min-heap ordered by
+// the number of minutes each doctor is booked for that day, then by the order the doctors were added to their list.
+// The heap remembers the position of each doctor in it, so a doctor can be removed or moved after its load changes in
+// O(log d) time. The least loaded doctor satisfying some condition is found by a best-first walk down the heap, which
+// looks at O(k log k) doctors when the first k - 1 doctors in order of load do not satisfy it.
+class DoctorLoadHeap {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Doctor[] heap = new Doctor[INITIAL_CAPACITY];
+    private long[] loads = new long[INITIAL_CAPACITY];
+    private HashMap<Doctor, Integer> positions = new HashMap<>();
+    private int size;
+    private long total;
+
+    // EFFECTS: returns the number of doctors in the heap
+    int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the number of minutes all the doctors in the heap are booked for
+    long total() {
+        return total;
+    }
+
+    // EFFECTS: returns the number of minutes d is booked for, or 0 if d is not in the heap
+    long load(Doctor d) {
+        Integer at = positions.get(d);
+        return at == null ? 0 : loads[at];
+    }
+
+    // REQUIRES: d is not in this heap
+    // MODIFIES: this
+    // EFFECTS: adds d to the heap, booked for the given number of minutes
+    void add(Doctor d, long load) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            loads = Arrays.copyOf(loads, size * 2);
+        }
+        place(d, load, size++);
+        total += load;
+        siftUp(size - 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes d from the heap, if it is in it, and returns the number of minutes it was booked for
+    long remove(Doctor d) {
+        Integer at = positions.remove(d);
+        if (at == null) {
+            return 0;
+        }
+        long load = loads[at];
+        total -= load;
+        Doctor last = heap[--size];
+        heap[size] = null;
+        if (last != d) {
+            place(last, loads[size], at);
+            siftUp(at);
+            siftDown(positions.get(last));
+        }
+        return load;
+    }
+
+    // REQUIRES: d is in this heap
+    // MODIFIES: this
+    // EFFECTS: adds the given number of minutes (negative when an appointment is taken away) to the load of d, and
+    //          moves d to its new place
+    void addLoad(Doctor d, long minutes) {
+        int at = positions.get(d);
+        loads[at] += minutes;
+        total += minutes;
+        siftUp(at);
+        siftDown(positions.get(d));
+    }
+
+    // EFFECTS: returns the least loaded doctor for whom available is true, or null if there is none
+    Doctor leastLoaded(Predicate<Doctor> available) {
+        if (size == 0) {
+            return null;
+        }
+        PriorityQueue<Integer> frontier = new PriorityQueue<>(this::compare);
+        frontier.add(0);
+        while (!frontier.isEmpty()) {
+            int at = frontier.poll();
+            if (available.test(heap[at])) {
+                return heap[at];
+            }
+            for (int child = 2 * at + 1; child <= 2 * at + 2 && child < size; child++) {
+                frontier.add(child);
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the doctor at position at up until its parent is no more loaded
+    private void siftUp(int at) {
+        Doctor moving = heap[at];
+        long load = loads[at];
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (compare(loads[parent], heap[parent], load, moving) <= 0) {
+                break;
+            }
+            place(heap[parent], loads[parent], at);
+            at = parent;
+        }
+        place(moving, load, at);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the doctor at position at down until both its children are no less loaded
+    private void siftDown(int at) {
+        Doctor moving = heap[at];
+        long load = loads[at];
+        while (true) {
+            int child = 2 * at + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(child + 1, child) < 0) {
+                child++;
+            }
+            if (compare(load, moving, loads[child], heap[child]) <= 0) {
+                break;
+            }
+            place(heap[child], loads[child], at);
+            at = child;
+        }
+        place(moving, load, at);
+    }
+
+    private void place(Doctor d, long load, int at) {
+        heap[at] = d;
+        loads[at] = load;
+        positions.put(d, at);
+    }
+
+    // EFFECTS: returns a negative number if the doctor at position a is less loaded than the one at b, a positive
+    //          number if it is more loaded, and 0 if a is b
+    private int compare(int a, int b) {
+        return compare(loads[a], heap[a], loads[b], heap[b]);
+    }
+
+    // EFFECTS: returns a negative number if doctor a with load loadA comes before doctor b with load loadB, a positive
+    //          number if it comes after, and 0 if they are the same doctor
+    private static int compare(long loadA, Doctor a, long loadB, Doctor b) {
+        int byLoad = Long.compare(loadA, loadB);
+        return byLoad != 0 ? byLoad : Integer.compare(a.sequence, b.sequence);
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+// This enum represents the kind of thing an event happened to, with the words used to describe it: its name, and the
+// name of the list it is kept in.
+public enum EntityKind {
+    APPOINTMENT("Appointment", "appointments"),
+    DOCTOR("Doctor", "doctors"),
+    INQUIRY("Inquiry", "inquiries"),
+    MEDICAL_RECORD("Medical record", "medical records"),
+    PATIENT("Patient", "patients"),
+    EVENT_LOG("Event log", "events");
+
+    private final String singular;
+    private final String plural;
+
+    EntityKind(String singular, String plural) {
+        this.singular = singular;
+        this.plural = plural;
+    }
+
+    // EFFECTS: returns the name of one thing of this kind, capitalized
+    public String getSingular() {
+        return singular;
+    }
+
+    // EFFECTS: returns the name of many things of this kind, in lower case
+    public String getPlural() {
+        return plural;
+    }
+}
@@ -1,26 +1,95 @@
 package model;
 
-import java.util.Calendar;
+import org.json.JSONObject;
+import persistence.Writable;
+
 import java.util.Date;
+import java.util.Objects;
 
 
 /**
  * Represents an alarm system event.
+ * An event records what happened (its type), what kind of thing it happened to,
+ * which one (its entity ID) or how many, and when, as a timestamp in milliseconds
+ * since the epoch. Logging an event allocates only the event itself; its
+ * description is put into words only when it is asked for.
  */
-public class Event {
+public class Event implements Writable {
+    /**
+     * The entity ID of an event that is not about a single, identified thing.
+     */
+    public static final long NO_ID = -1;
+
     private static final int HASH_CONSTANT = 13;
-    private Date dateLogged;
-    private String description;
+    private final EventType type;
+    private final EntityKind kind;
+    private final long entityId;
+    private final int count;
+    private final long timestamp;
+    private final String text;
+
+    // the ticket this event was logged with, set by the event log just before it is published
+    long ticket;
 
     /**
-     * Creates an event with the given description
-     * and the current date/time stamp.
+     * Creates an event described by the given free text,
+     * with the current time stamp.
      *
      * @param description a description of the event
      */
     public Event(String description) {
-        dateLogged = Calendar.getInstance().getTime();
-        this.description = description;
+        this(EventType.NOTE, EntityKind.EVENT_LOG, NO_ID, 1, description);
+    }
+
+    /**
+     * Creates an event about a single thing, with the current time stamp.
+     *
+     * @param type     what happened
+     * @param kind     the kind of thing it happened to
+     * @param entityId the ID of the thing it happened to, or NO_ID
+     */
+    public Event(EventType type, EntityKind kind, long entityId) {
+        this(type, kind, entityId, 1, null);
+    }
+
+    /**
+     * Creates an event about count things at once, with the current time stamp.
+     *
+     * @param type     what happened
+     * @param kind     the kind of things it happened to
+     * @param entityId the ID of the thing it happened to if count is 1, or NO_ID
+     * @param count    the number of things it happened to
+     */
+    public Event(EventType type, EntityKind kind, long entityId, int count) {
+        this(type, kind, entityId, count, null);
+    }
+
+    /**
+     * Creates an event as it was logged earlier, such as one read back from disk.
+     *
+     * @param type      what happened
+     * @param kind      the kind of things it happened to
+     * @param entityId  the ID of the thing it happened to if count is 1, or NO_ID
+     * @param count     the number of things it happened to
+     * @param text      the free-text description of a NOTE, or null
+     * @param timestamp the time it happened, in milliseconds since the epoch
+     */
+    public Event(EventType type, EntityKind kind, long entityId, int count, String text, long timestamp) {
+        this.timestamp = timestamp;
+        this.type = type;
+        this.kind = kind;
+        this.entityId = entityId;
+        this.count = count;
+        this.text = text;
+    }
+
+    private Event(EventType type, EntityKind kind, long entityId, int count, String text) {
+        this.timestamp = System.currentTimeMillis();
+        this.type = type;
+        this.kind = kind;
+        this.entityId = entityId;
+        this.count = count;
+        this.text = text;
     }
 
     /**
@@ -29,16 +98,96 @@ public class Event {
      * @return the date of the event
      */
     public Date getDate() {
-        return dateLogged;
+        return new Date(timestamp);
+    }
+
+    /**
+     * Gets the time of this event.
+     *
+     * @return the time of the event, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public EntityKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the ID of the thing this event happened to.
+     *
+     * @return the entity ID, or NO_ID if the event is not about a single, identified thing
+     */
+    public long getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * Gets the number of things this event happened to.
+     *
+     * @return the number of things, which is 1 for an event about a single thing
+     */
+    public int getCount() {
+        return count;
     }
 
     /**
-     * Gets the description of this event.
+     * Gets the description of this event, putting it into words.
      *
      * @return the description of the event
      */
     public String getDescription() {
-        return description;
+        switch (type) {
+            case ADDED:
+                return describeChange("added to");
+            case REMOVED:
+                return describeChange("removed from");
+            case INITIALIZED:
+                return "List of " + kind.getPlural() + " has been initialized.";
+            case RESPONDED:
+                return subject() + " has been responded to.";
+            case CLEARED:
+                return kind.getSingular() + " cleared.";
+            default:
+                return text;
+        }
+    }
+
+    // EFFECTS: returns the description of a change to the list of this event's kind, such as "has been added to"
+    private String describeChange(String change) {
+        if (entityId == NO_ID && count != 1) {
+            return count + " " + kind.getPlural() + " have been " + change + " list of " + kind.getPlural() + ".";
+        }
+        return subject() + " has been " + change + " list of " + kind.getPlural() + ".";
+    }
+
+    // EFFECTS: returns the thing this event is about, with its ID if it has one
+    private String subject() {
+        return entityId == NO_ID ? kind.getSingular() : kind.getSingular() + " " + entityId;
+    }
+
+    /**
+     * Converts this event to JSON, keeping its fields rather than its description.
+     *
+     * @return this event as a JSON object
+     */
+    @Override
+    public JSONObject toJson() {
+        JSONObject json = new JSONObject();
+        json.put("type", type.name());
+        json.put("kind", kind.name());
+        json.put("id", entityId);
+        json.put("count", count);
+        json.put("date", timestamp);
+        if (text != null) {
+            json.put("text", text);
+        }
+        return json;
     }
 
     @Override
@@ -53,13 +202,17 @@ public class Event {
 
         Event otherEvent = (Event) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged)
-                && this.description.equals(otherEvent.description));
+        return (this.timestamp == otherEvent.timestamp
+                && this.type == otherEvent.type
+                && this.kind == otherEvent.kind
+                && this.entityId == otherEvent.entityId
+                && this.count == otherEvent.count
+                && Objects.equals(this.text, otherEvent.text));
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        return (HASH_CONSTANT * Long.hashCode(timestamp) + Objects.hash(type, kind, entityId, count, text));
     }
 
     @Override
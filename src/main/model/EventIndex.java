@@ -0,0 +1,93 @@
+package model;
+
+import java.util.Arrays;
+
+// This class represents an index of the latest events of one stream of an event log (all of its events, or those of
+// one kind): the tickets of the events, in increasing order, each with the time it was logged at, which never
+// decreases from one entry to the next.
+// Entries are kept in a ring holding as many entries as the log holds events, which starts small and grows as needed.
+// Entries are numbered from 0 in the order they were added; only the latest entries are still in the ring. Because
+// tickets and times are both sorted, the entries of a range of tickets or times are found by binary search.
+class EventIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int capacity;
+    private long[] tickets;
+    private long[] times;
+    private long size;
+
+    // constructor
+    // EFFECTS: constructs an empty index holding up to capacity entries
+    EventIndex(int capacity) {
+        this.capacity = capacity;
+        tickets = new long[Math.min(INITIAL_CAPACITY, capacity)];
+        times = new long[tickets.length];
+    }
+
+    // REQUIRES: ticket and time are at least those of the last entry added
+    // MODIFIES: this
+    // EFFECTS: adds an entry for the event with the given ticket, logged at the given time, forgetting the oldest entry
+    //          if the index is full
+    void add(long ticket, long time) {
+        if (size == tickets.length && tickets.length < capacity) {
+            tickets = Arrays.copyOf(tickets, Math.min(tickets.length * 2, capacity));
+            times = Arrays.copyOf(times, tickets.length);
+        }
+        int at = (int) (size % tickets.length);
+        tickets[at] = ticket;
+        times[at] = time;
+        size++;
+    }
+
+    // EFFECTS: returns the number of the first entry still in the ring
+    long first() {
+        return Math.max(0, size - tickets.length);
+    }
+
+    // EFFECTS: returns the number one past the last entry
+    long end() {
+        return size;
+    }
+
+    // REQUIRES: first() <= i < end()
+    // EFFECTS: returns the ticket of entry i
+    long ticket(long i) {
+        return tickets[(int) (i % tickets.length)];
+    }
+
+    // REQUIRES: first() <= i < end()
+    // EFFECTS: returns the time of entry i
+    long time(long i) {
+        return times[(int) (i % tickets.length)];
+    }
+
+    // EFFECTS: returns the number of the first entry from lo onwards whose ticket is at least ticket, or end() if there
+    //          is none
+    long firstWithTicket(long lo, long ticket) {
+        long hi = size;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (ticket(mid) < ticket) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // EFFECTS: returns the number of the first entry from lo onwards whose time is at least time, or end() if there is
+    //          none
+    long firstWithTime(long lo, long time) {
+        long hi = size;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (time(mid) < time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
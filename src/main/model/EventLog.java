@@ -1,8 +1,27 @@
 package model;
 
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents a log of hospital management system events.
@@ -11,19 +30,85 @@ import java.util.Iterator;
  * to the single instance of the EventLog.
  */
 // This code references the AlarmSystem code given by the course.
+// The log keeps only the latest events, in a ring buffer of fixed capacity that any number of threads can log to at
+// once without locking: each event takes the next ticket from an atomic counter, remembers it, and is swapped into the
+// slot its ticket maps to. When the buffer is full, the oldest event is either dropped or, if the log spills to disk,
+// queued to be appended to a spill file as a line of JSON by a background thread, which writes whatever is queued in
+// one batch. Iterating over the log goes over a snapshot of the events it held when iteration began.
+// The events the log holds are also indexed by the time they were logged, both all together and by the kind of thing
+// they happened to, so the events of a range of time are found in O(log n + k) time. The index is brought up to date
+// when it is queried, by a single thread at a time, so logging stays lock-free. The time an event was logged at is its
+// timestamp, or the time of the event logged before it if that is later (which happens only when events are logged
+// from several threads at once), so the times in the index never go backwards. The log also counts the events of
+// each kind and type as they are logged.
 public class EventLog implements Iterable<Event> {
+    /**
+     * The number of events kept by a log when no capacity is given.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * What a full log does with its oldest event to make room for a new one.
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        SPILL_TO_DISK
+    }
+
     /**
      * the only EventLog in the system (Singleton Design Pattern)
      */
-    private static EventLog theLog;
-    private Collection<Event> events;
+    private static volatile EventLog theLog;
+
+    private static final EntityKind[] KINDS = EntityKind.values();
+    private static final EventType[] TYPES = EventType.values();
+
+    private final AtomicReferenceArray<Event> slots;
+    private final AtomicLong nextTicket = new AtomicLong();
+    private final AtomicLong clearedBefore = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final OverflowPolicy policy;
+    private final Path spillFile;
+    private final ConcurrentLinkedQueue<Event> spillQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean spillScheduled = new AtomicBoolean();
+    private final ExecutorService spiller;
+    // copied on every change, so logging reads it without locking or allocating
+    private volatile EventLogListener[] listeners = new EventLogListener[0];
+    private final AtomicLongArray counts = new AtomicLongArray(KINDS.length * TYPES.length);
+    private final EventIndex allEvents;
+    private final EventIndex[] eventsByKind;
+    // the ticket of the next event to index, and the time the last event indexed was logged at; guarded by allEvents
+    private long nextToIndex;
+    private long lastIndexedTime = Long.MIN_VALUE;
 
     /**
-     * Prevent external construction.
+     * Creates a log keeping the latest DEFAULT_CAPACITY events, dropping older ones.
      * (Singleton Design Pattern).
      */
     public EventLog() {
-        events = new ArrayList<>();
+        this(DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST, null);
+    }
+
+    /**
+     * Creates a log keeping the latest capacity events.
+     *
+     * @param capacity  the number of events to keep; must be positive
+     * @param policy    what to do with the oldest event when the log is full
+     * @param spillFile the file that events are appended to when the policy is SPILL_TO_DISK; ignored otherwise
+     */
+    public EventLog(int capacity, OverflowPolicy policy, Path spillFile) {
+        if (capacity <= 0 || (policy == OverflowPolicy.SPILL_TO_DISK && spillFile == null)) {
+            throw new IllegalArgumentException("An event log needs a positive capacity, and a file to spill to");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.policy = policy;
+        this.spillFile = spillFile;
+        this.spiller = policy == OverflowPolicy.SPILL_TO_DISK ? newSpiller() : null;
+        this.allEvents = new EventIndex(capacity);
+        this.eventsByKind = new EventIndex[KINDS.length];
+        for (int k = 0; k < KINDS.length; k++) {
+            eventsByKind[k] = new EventIndex(capacity);
+        }
     }
 
     /**
@@ -34,33 +119,312 @@ public class EventLog implements Iterable<Event> {
      * @return instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
+        EventLog log = theLog;
+        if (log == null) {
+            synchronized (EventLog.class) {
+                if (theLog == null) {
+                    theLog = new EventLog();
+                }
+                log = theLog;
+            }
         }
+        return log;
+    }
 
-        return theLog;
+    /**
+     * Replaces the instance of EventLog with a new, empty one.
+     *
+     * @param capacity  the number of events to keep; must be positive
+     * @param policy    what to do with the oldest event when the log is full
+     * @param spillFile the file that events are appended to when the policy is SPILL_TO_DISK; ignored otherwise
+     */
+    public static synchronized void configure(int capacity, OverflowPolicy policy, Path spillFile) {
+        if (theLog != null) {
+            theLog.flushSpill();
+        }
+        theLog = new EventLog(capacity, policy, spillFile);
     }
 
     /**
-     * Adds an event to the event log.
+     * Adds an event to the event log, making room for it if the log is full,
+     * and passes it to every listener.
+     * Safe to call from any number of threads at once without locking, and allocates nothing
+     * unless it queues an event to be spilled to disk.
      *
-     * @param e the event to be added
+     * @param e the event to be added, which must not have been logged before
      */
     public void logEvent(Event e) {
-        events.add(e);
+        long ticket = nextTicket.getAndIncrement();
+        int slot = (int) (ticket % slots.length());
+        e.ticket = ticket;
+        while (!store(slot, e)) {
+            // the slot changed while this event was being stored; try again
+        }
+        counts.incrementAndGet(e.getKind().ordinal() * TYPES.length + e.getType().ordinal());
+        EventLogListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            current[i].eventLogged(e);
+        }
     }
 
     /**
-     * Clears the event log and logs the event.
+     * Adds a listener that is passed every event logged from now on, on the thread that logs it.
+     *
+     * @param listener the listener, which must not block
+     */
+    public synchronized void addListener(EventLogListener listener) {
+        EventLogListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+        added[listeners.length] = listener;
+        listeners = added;
+    }
+
+    /**
+     * Removes a listener, if it was added.
+     *
+     * @param listener the listener
+     */
+    public synchronized void removeListener(EventLogListener listener) {
+        List<EventLogListener> remaining = new ArrayList<>(Arrays.asList(listeners));
+        if (remaining.remove(listener)) {
+            listeners = remaining.toArray(new EventLogListener[0]);
+        }
+    }
+
+    /**
+     * Waits until every event queued to be spilled to disk so far has been written to the spill file
+     * (or counted as dropped, if it could not be).
+     */
+    public void flushSpill() {
+        if (spiller == null) {
+            return;
+        }
+        try {
+            spiller.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // the spiller never throws; nothing to wait for
+        }
+    }
+
+    /**
+     * Clears the event log and its counts, and logs the event.
+     * First waits until every event queued to be spilled to disk has been written, so none are lost
+     * if the program exits straight after.
      */
     public void clear() {
-        events.clear();
-        logEvent(new Event("Event log cleared."));
+        flushSpill();
+        long cleared = nextTicket.get();
+        clearedBefore.accumulateAndGet(cleared, Math::max);
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        logEvent(new Event(EventType.CLEARED, EntityKind.EVENT_LOG, Event.NO_ID));
+    }
+
+    /**
+     * Gets the capacity of this log.
+     *
+     * @return the number of events this log keeps
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Gets the number of events that were dropped to make room for newer ones (or could not be spilled).
+     *
+     * @return the number of events dropped
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Gets the number of events of a kind logged since the log was created or last cleared.
+     *
+     * @param kind the kind of thing the events happened to
+     * @return the number of events of that kind, including any no longer held by the log
+     */
+    public long count(EntityKind kind) {
+        long count = 0;
+        for (EventType type : TYPES) {
+            count += count(kind, type);
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of events of a kind and type logged since the log was created or last cleared.
+     *
+     * @param kind the kind of thing the events happened to
+     * @param type what happened
+     * @return the number of events of that kind and type, including any no longer held by the log
+     */
+    public long count(EntityKind kind, EventType type) {
+        return counts.get(kind.ordinal() * TYPES.length + type.ordinal());
+    }
+
+    /**
+     * Finds the events held by the log that were logged in a range of time, in O(log n + k) time.
+     *
+     * @param from the start of the range, in milliseconds since the epoch (inclusive)
+     * @param to   the end of the range, in milliseconds since the epoch (exclusive)
+     * @return the events logged at or after from and before to, oldest first
+     */
+    public List<Event> events(long from, long to) {
+        synchronized (allEvents) {
+            index();
+            return find(allEvents, from, to);
+        }
     }
 
+    /**
+     * Finds the events of a kind held by the log that were logged in a range of time, in O(log n + k) time.
+     *
+     * @param kind the kind of thing the events happened to
+     * @param from the start of the range, in milliseconds since the epoch (inclusive)
+     * @param to   the end of the range, in milliseconds since the epoch (exclusive)
+     * @return the events of that kind logged at or after from and before to, oldest first
+     */
+    public List<Event> events(EntityKind kind, long from, long to) {
+        synchronized (allEvents) {
+            index();
+            return find(eventsByKind[kind.ordinal()], from, to);
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the events in the log, oldest first.
+     * Events logged after this is called, and events still being logged when it is called, are not included.
+     *
+     * @return an iterator over the events in the log
+     */
     @Override
     public Iterator<Event> iterator() {
-        return events.iterator();
+        long end = nextTicket.get();
+        long start = Math.max(clearedBefore.get(), end - slots.length());
+        List<Event> snapshot = new ArrayList<>((int) Math.max(0, end - start));
+        for (long ticket = start; ticket < end; ticket++) {
+            Event e = slots.get((int) (ticket % slots.length()));
+            if (e != null && e.ticket == ticket) {
+                snapshot.add(e);
+            }
+        }
+        return snapshot.iterator();
+    }
+
+    // REQUIRES: the lock of allEvents is held
+    // MODIFIES: this
+    // EFFECTS: adds the events logged since the index was last brought up to date to the indexes, up to the first one
+    //          still being stored; events already dropped from the log are skipped
+    private void index() {
+        long end = nextTicket.get();
+        long ticket = Math.max(nextToIndex, end - slots.length());
+        for (; ticket < end; ticket++) {
+            Event e = slots.get((int) (ticket % slots.length()));
+            if (e == null || e.ticket < ticket) {
+                break;
+            }
+            if (e.ticket == ticket) {
+                lastIndexedTime = Math.max(lastIndexedTime, e.getTimestamp());
+                allEvents.add(ticket, lastIndexedTime);
+                eventsByKind[e.getKind().ordinal()].add(ticket, lastIndexedTime);
+            }
+        }
+        nextToIndex = ticket;
+    }
+
+    // REQUIRES: the lock of allEvents is held
+    // EFFECTS: returns the events in index that the log still holds and that were logged at or after from and before
+    //          to, oldest first
+    private List<Event> find(EventIndex index, long from, long to) {
+        long oldest = Math.max(clearedBefore.get(), nextTicket.get() - slots.length());
+        long i = index.firstWithTime(index.firstWithTicket(index.first(), oldest), from);
+        List<Event> found = new ArrayList<>();
+        for (; i < index.end() && index.time(i) < to; i++) {
+            long ticket = index.ticket(i);
+            Event e = slots.get((int) (ticket % slots.length()));
+            if (e != null && e.ticket == ticket) {
+                found.add(e);
+            }
+        }
+        return found;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: tries to swap e into slot, getting rid of the event it replaces, and returns true; if a producer a whole
+    //          lap ahead has already filled the slot, gets rid of e instead, as it is the older one; returns false if
+    //          the slot changed before e could be swapped in
+    private boolean store(int slot, Event e) {
+        Event old = slots.get(slot);
+        if (old != null && old.ticket > e.ticket) {
+            overflow(e);
+            return true;
+        }
+        if (!slots.compareAndSet(slot, old, e)) {
+            return false;
+        }
+        if (old != null) {
+            overflow(old);
+        }
+        return true;
     }
 
+    // MODIFIES: this
+    // EFFECTS: gets rid of e to make room for a newer event: forgets it if the log was cleared after it was logged,
+    //          queues it to be appended to the spill file if this log spills to disk, or drops it otherwise
+    private void overflow(Event e) {
+        if (e.ticket < clearedBefore.get()) {
+            return;
+        }
+        if (policy != OverflowPolicy.SPILL_TO_DISK) {
+            dropped.incrementAndGet();
+            return;
+        }
+        spillQueue.offer(e);
+        if (spillScheduled.compareAndSet(false, true)) {
+            spiller.execute(this::spill);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends every event queued to the spill file as lines of JSON, opening the file for the batch and
+    //          closing it after, so nothing is left buffered or open between batches; counts the events as dropped if
+    //          they could not be written. Runs on the spill thread
+    private void spill() {
+        spillScheduled.set(false);
+        int batch = 0;
+        try (Writer spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Event e = spillQueue.poll(); e != null; e = spillQueue.poll()) {
+                batch++;
+                JSONObject json = e.toJson();
+                json.put("ticket", e.ticket);
+                spillWriter.write(json.toString());
+                spillWriter.write('\n');
+            }
+        } catch (IOException ex) {
+            dropped.addAndGet(batch + drain());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties the spill queue and returns the number of events that were on it
+    private int drain() {
+        int n = 0;
+        while (spillQueue.poll() != null) {
+            n++;
+        }
+        return n;
+    }
+
+    // EFFECTS: returns a single daemon thread for spilling to disk, which stops when it has been idle for a second
+    private static ExecutorService newSpiller() {
+        return new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "event-log-spiller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
 }
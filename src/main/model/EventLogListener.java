@@ -0,0 +1,9 @@
+package model;
+
+// This interface represents something that is told about every event logged to an event log, such as an appender
+// saving them to disk.
+public interface EventLogListener {
+
+    // EFFECTS: handles e, which has just been logged; must return quickly and never block
+    void eventLogged(Event e);
+}
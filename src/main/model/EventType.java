@@ -0,0 +1,12 @@
+package model;
+
+// This enum represents what happened in an event: something was added to or removed from a list, a list was
+// initialized, an inquiry was responded to, or the event log was cleared. A NOTE is an event described by free text.
+public enum EventType {
+    ADDED,
+    REMOVED,
+    INITIALIZED,
+    RESPONDED,
+    CLEARED,
+    NOTE
+}
@@ -1,40 +1,81 @@
 package model;
 
 // This class represents information on an inquiry that can be filed to the hospital help desk.
+// An inquiry also has a priority, and once it is filed it remembers when it was filed and, once it has been answered,
+// when it was first responded to (both as epoch minutes).
+// The date an inquiry is filed with is kept as written, for display, and also as an epoch day, parsed once when it is
+// set, for ordering and searching by date.
 public class Inquiry {
 
     // An Inquiry consists of a subject, the date it was filed, and any other additional remarks.
     private String subject;
     private String date;
+    private int day;
     private String remarks;
+    private InquiryPriority priority;
+    private long filedAt = AppointmentTime.UNSCHEDULED;
+    private long respondedAt = AppointmentTime.UNSCHEDULED;
 
-    // The inquiries that are shown by the program are dummy variables.
-    public static final Inquiry I1 = new Inquiry("cannot book appointment", "September 16, 2021",
-            "N/a");
-    public static final Inquiry I2 = new Inquiry("emergency appointment", "November 19, 2021",
-            "Please hurry!");
-    public static final Inquiry I3 = new Inquiry("I have a crush on a doctor", "January 4, 2021",
-            "I won't say!");
+    // the list this inquiry is in, which is told when its subject, date, remarks or priority change, its position in
+    // the triage queue while it is waiting for a response, and the order in which it was filed
+    InquiryList owner;
+    int queueIndex = -1;
+    long sequence;
 
     // constructor
-    // EFFECTS: constructs an inquiry with given subject, date, and remarks
+    // EFFECTS: constructs a routine inquiry with given subject, date, and remarks
     public Inquiry(String subject, String date, String remarks) {
+        this(subject, date, remarks, InquiryPriority.ROUTINE);
+    }
+
+    // constructor
+    // EFFECTS: constructs an inquiry with given subject, date, remarks and priority
+    public Inquiry(String subject, String date, String remarks, InquiryPriority priority) {
         this.subject = subject;
         this.date = date;
+        this.day = InquiryDate.parse(date);
         this.remarks = remarks;
+        this.priority = priority;
     }
 
     // Setter and Getter methods
+    // MODIFIES: this, owner
+    // EFFECTS: sets the subject of this inquiry, and re-indexes it in its list's search index
     public void setSubject(String subject) {
+        String before = this.subject;
         this.subject = subject;
+        if (owner != null) {
+            owner.textChanged(this, before, remarks);
+        }
     }
 
+    // MODIFIES: this, owner
+    // EFFECTS: sets the date of this inquiry, and re-indexes it in its list's date index
     public void setDate(String date) {
         this.date = date;
+        this.day = InquiryDate.parse(date);
+        if (owner != null) {
+            owner.dateChanged(this);
+        }
     }
 
+    // MODIFIES: this, owner
+    // EFFECTS: sets the remarks of this inquiry, and re-indexes it in its list's search index
     public void setRemarks(String remarks) {
+        String before = this.remarks;
         this.remarks = remarks;
+        if (owner != null) {
+            owner.textChanged(this, subject, before);
+        }
+    }
+
+    // MODIFIES: this, owner
+    // EFFECTS: sets the priority of this inquiry, and moves it to its new place in its list's triage queue
+    public void setPriority(InquiryPriority priority) {
+        this.priority = priority;
+        if (owner != null) {
+            owner.priorityChanged(this);
+        }
     }
 
     public String getSubject() {
@@ -45,7 +86,49 @@ public class Inquiry {
         return this.date;
     }
 
+    // EFFECTS: returns the date of this inquiry as an epoch day, or InquiryDate.UNDATED if it is not a recognized date
+    public int getDay() {
+        return this.day;
+    }
+
     public String getRemarks() {
         return this.remarks;
     }
+
+    public InquiryPriority getPriority() {
+        return this.priority;
+    }
+
+    // EFFECTS: returns the epoch minute this inquiry was filed, or AppointmentTime.UNSCHEDULED if it has not been
+    public long getFiledAt() {
+        return this.filedAt;
+    }
+
+    // EFFECTS: returns the epoch minute this inquiry was first responded to, or AppointmentTime.UNSCHEDULED if it has
+    //          not been
+    public long getRespondedAt() {
+        return this.respondedAt;
+    }
+
+    // EFFECTS: returns true if this inquiry has been responded to
+    public boolean isAnswered() {
+        return this.respondedAt != AppointmentTime.UNSCHEDULED;
+    }
+
+    // EFFECTS: returns the epoch minute by which this inquiry should be responded to
+    public long getDeadline() {
+        return this.filedAt + this.priority.getTargetMinutes();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that this inquiry was filed at the given epoch minute
+    void filed(long minute) {
+        this.filedAt = minute;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that this inquiry was first responded to at the given epoch minute
+    void responded(long minute) {
+        this.respondedAt = minute;
+    }
 }
@@ -0,0 +1,69 @@
+package model;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// This class converts the dates that inquiries are filed with into days since the epoch (1970-01-01), so that
+// inquiries can be ordered and searched by date without re-parsing text.
+// Accepted forms are a month name (or its first three letters) followed by the day and year, such as
+// "September 16, 2021" or "Sep 16 2021", and "2021-09-16".
+public final class InquiryDate {
+    // the value given to inquiries whose date could not be understood
+    public static final int UNDATED = Integer.MIN_VALUE;
+
+    private static final Pattern WRITTEN = Pattern.compile("([a-z]{3,9})\\.?\\s+(\\d{1,2}),?\\s+(\\d{4})",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMERIC = Pattern.compile("(\\d{4})-(\\d{1,2})-(\\d{1,2})");
+
+    private InquiryDate() {
+    }
+
+    // EFFECTS: returns the epoch day of text; returns UNDATED if text is not a recognized date
+    public static int parse(String text) {
+        if (text == null) {
+            return UNDATED;
+        }
+        String trimmed = text.trim();
+        try {
+            Matcher m = NUMERIC.matcher(trimmed);
+            if (m.matches()) {
+                return of(LocalDate.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2)),
+                        Integer.parseInt(m.group(3))));
+            }
+            m = WRITTEN.matcher(trimmed);
+            Month month = m.matches() ? month(m.group(1)) : null;
+            if (month == null) {
+                return UNDATED;
+            }
+            return of(LocalDate.of(Integer.parseInt(m.group(3)), month, Integer.parseInt(m.group(2))));
+        } catch (DateTimeException e) {
+            return UNDATED;
+        }
+    }
+
+    // EFFECTS: returns the epoch day of the given date
+    public static int of(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    // EFFECTS: returns the epoch day of the current date
+    public static int today() {
+        return of(LocalDate.now());
+    }
+
+    // EFFECTS: returns the month whose name is name or starts with its first three letters, ignoring case, or null if
+    //          there is none
+    private static Month month(String name) {
+        String upper = name.toUpperCase(Locale.ROOT);
+        for (Month month : Month.values()) {
+            if (month.name().startsWith(upper)) {
+                return month;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import java.util.Arrays;
+
+// This class represents an index of the dates of a list of inquiries, which refers to inquiries by their position
+// (document number) in their list: the documents sorted by epoch day.
+// A query finds the run of documents in a range of days by binary search, in O(log n + k) time for k documents found.
+// Documents are appended to the index while dates arrive in order; otherwise the index is re-sorted on the next query.
+// Undated documents sort before every date, so no range of real dates includes them.
+class InquiryDateIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] days = new int[INITIAL_CAPACITY];
+    private int[] docsByDay = new int[INITIAL_CAPACITY];
+    private boolean sorted = true;
+    private int size;
+
+    // MODIFIES: this
+    // EFFECTS: indexes the next document, with the given epoch day
+    void add(int day) {
+        if (size == days.length) {
+            days = Arrays.copyOf(days, size * 2);
+            docsByDay = Arrays.copyOf(docsByDay, size * 2);
+        }
+        int doc = size++;
+        days[doc] = day;
+        if (sorted && (doc == 0 || day >= days[docsByDay[doc - 1]])) {
+            docsByDay[doc] = doc;
+        } else {
+            sorted = false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes doc, which now has the given epoch day
+    void update(int doc, int day) {
+        if (days[doc] != day) {
+            days[doc] = day;
+            sorted = false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the documents with an epoch day in [fromDay, toDay], earliest first and in order of document
+    //          among equal days
+    int[] between(int fromDay, int toDay) {
+        if (fromDay > toDay) {
+            return new int[0];
+        }
+        int lo = firstOnOrAfter(fromDay);
+        int hi = toDay == Integer.MAX_VALUE ? size : firstOnOrAfter(toDay + 1);
+        return Arrays.copyOfRange(docsByDay, lo, hi);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the position in the index of the first document on or after day, sorting the index first if
+    //          needed
+    private int firstOnOrAfter(int day) {
+        if (!sorted) {
+            sortByDay();
+        }
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[docsByDay[mid]] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rebuilds the index, ordering documents of equal day by document
+    private void sortByDay() {
+        long[] keys = new long[size];
+        for (int doc = 0; doc < size; doc++) {
+            keys[doc] = (long) days[doc] << 32 | doc;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            docsByDay[i] = (int) keys[i];
+        }
+        sorted = true;
+    }
+}
@@ -0,0 +1,247 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// This class represents a full-text index over the subjects and remarks of inquiries, which refer to inquiries by
+// their position (document number) in their list.
+// Text is split into lower-case words of letters and digits. For each word, a postings list holds the documents it
+// occurs in, in increasing order, with the number of times it occurs in each (words in the subject count twice).
+// A query for all of some words walks the shortest postings list and skips ahead in the others by galloping search; a
+// query for any of them merges the postings lists. Matches are ranked by tf-idf: the sum over the query words of how
+// often the word occurs in the document times how rare the word is among all documents.
+class InquiryIndex {
+    private static final int SUBJECT_WEIGHT = 2;
+
+    private final HashMap<String, Postings> postings = new HashMap<>();
+    private int documents;
+
+    // The documents a word occurs in, in increasing order, and how often it occurs in each.
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        // MODIFIES: this
+        // EFFECTS: records that the word occurs freq times in doc, keeping documents in increasing order
+        void add(int doc, int freq) {
+            int at = find(doc);
+            if (at >= 0) {
+                freqs[at] += freq;
+                return;
+            }
+            at = -(at + 1);
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            System.arraycopy(docs, at, docs, at + 1, size - at);
+            System.arraycopy(freqs, at, freqs, at + 1, size - at);
+            docs[at] = doc;
+            freqs[at] = freq;
+            size++;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: removes doc from the postings, if it is there
+        void remove(int doc) {
+            int at = find(doc);
+            if (at >= 0) {
+                System.arraycopy(docs, at + 1, docs, at, size - at - 1);
+                System.arraycopy(freqs, at + 1, freqs, at, size - at - 1);
+                size--;
+            }
+        }
+
+        // EFFECTS: returns the position of doc, or -(insertion point) - 1 if it is not there
+        int find(int doc) {
+            if (size == 0 || docs[size - 1] < doc) {
+                return -(size + 1);
+            }
+            return Arrays.binarySearch(docs, 0, size, doc);
+        }
+
+        // EFFECTS: returns the first position at or after from whose document is at least doc, or size if there is
+        //          none, by galloping ahead from from and then searching the last gap
+        int seek(int from, int doc) {
+            int step = 1;
+            int lo = from;
+            while (lo + step < size && docs[lo + step] < doc) {
+                lo += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(docs, lo, Math.min(lo + step + 1, size), doc);
+            return at >= 0 ? at : -(at + 1);
+        }
+    }
+
+    // A match being ranked.
+    private static final class Match {
+        private final int doc;
+        private final double score;
+
+        Match(int doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    // EFFECTS: returns the words of text, in lower case, in the order they occur
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inWord = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes document doc with the given subject and remarks; doc is counted as a new document if it is
+    //          not below the number of documents indexed so far
+    void add(int doc, String subject, String remarks) {
+        HashMap<String, Integer> freqs = new HashMap<>();
+        for (String word : tokenize(subject)) {
+            freqs.merge(word, SUBJECT_WEIGHT, Integer::sum);
+        }
+        for (String word : tokenize(remarks)) {
+            freqs.merge(word, 1, Integer::sum);
+        }
+        for (String word : freqs.keySet()) {
+            postings.computeIfAbsent(word, w -> new Postings()).add(doc, freqs.get(word));
+        }
+        documents = Math.max(documents, doc + 1);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes document doc, which was indexed with the given subject and remarks, from the postings lists
+    void remove(int doc, String subject, String remarks) {
+        Set<String> words = new LinkedHashSet<>(tokenize(subject));
+        words.addAll(tokenize(remarks));
+        for (String word : words) {
+            Postings p = postings.get(word);
+            if (p != null) {
+                p.remove(doc);
+                if (p.size == 0) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    // EFFECTS: returns up to k documents containing every word of query (if all is true) or any of them (if all is
+    //          false), best match first; a query without words matches nothing
+    int[] search(String query, boolean all, int k) {
+        List<Postings> lists = new ArrayList<>();
+        for (String word : new LinkedHashSet<>(tokenize(query))) {
+            Postings p = postings.get(word);
+            if (p == null && all) {
+                return new int[0];
+            } else if (p != null) {
+                lists.add(p);
+            }
+        }
+        if (lists.isEmpty() || k <= 0) {
+            return new int[0];
+        }
+        PriorityQueue<Match> best = new PriorityQueue<>(k + 1, InquiryIndex::worseFirst);
+        if (all) {
+            matchAll(lists, k, best);
+        } else {
+            matchAny(lists, k, best);
+        }
+        return ranked(best);
+    }
+
+    // MODIFIES: best
+    // EFFECTS: keeps the k best documents that are in every postings list in best
+    private void matchAll(List<Postings> lists, int k, PriorityQueue<Match> best) {
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        Postings shortest = lists.get(0);
+        int[] at = new int[lists.size()];
+        for (int i = 0; i < shortest.size; i++) {
+            int doc = shortest.docs[i];
+            double score = weight(shortest, i);
+            boolean inAll = true;
+            for (int l = 1; l < lists.size() && inAll; l++) {
+                Postings p = lists.get(l);
+                at[l] = p.seek(at[l], doc);
+                inAll = at[l] < p.size && p.docs[at[l]] == doc;
+                score += inAll ? weight(p, at[l]) : 0;
+            }
+            if (inAll) {
+                offer(best, k, new Match(doc, score));
+            }
+        }
+    }
+
+    // MODIFIES: best
+    // EFFECTS: keeps the k best documents that are in any postings list in best, merging the lists in document order
+    private void matchAny(List<Postings> lists, int k, PriorityQueue<Match> best) {
+        int[] at = new int[lists.size()];
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int l = 0; l < lists.size(); l++) {
+                if (at[l] < lists.get(l).size) {
+                    doc = Math.min(doc, lists.get(l).docs[at[l]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                return;
+            }
+            double score = 0;
+            for (int l = 0; l < lists.size(); l++) {
+                Postings p = lists.get(l);
+                if (at[l] < p.size && p.docs[at[l]] == doc) {
+                    score += weight(p, at[l]++);
+                }
+            }
+            offer(best, k, new Match(doc, score));
+        }
+    }
+
+    // EFFECTS: returns the tf-idf weight of the word of p in its document at position i
+    private double weight(Postings p, int i) {
+        return p.freqs[i] * Math.log(1 + (double) documents / p.size);
+    }
+
+    // MODIFIES: best
+    // EFFECTS: adds m to best, dropping the worst match if best then holds more than k
+    private static void offer(PriorityQueue<Match> best, int k, Match m) {
+        best.add(m);
+        if (best.size() > k) {
+            best.poll();
+        }
+    }
+
+    // MODIFIES: best
+    // EFFECTS: empties best and returns its documents, best match first
+    private static int[] ranked(PriorityQueue<Match> best) {
+        int[] docs = new int[best.size()];
+        for (int i = docs.length - 1; i >= 0; i--) {
+            docs[i] = best.poll().doc;
+        }
+        return docs;
+    }
+
+    // EFFECTS: orders matches worst first: lower score, then later document
+    private static int worseFirst(Match a, Match b) {
+        int byScore = Double.compare(a.score, b.score);
+        return byScore != 0 ? byScore : Integer.compare(b.doc, a.doc);
+    }
+}
@@ -1,41 +1,241 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
-import static model.Inquiry.*;
-
 // This class represents a list of inquiries.
 // This code references the AlarmSystem code given by the course.
+// Inquiries waiting for a response are also kept in a triage queue, so the most pressing one can be found and answered
+// in O(log n) time: inquiries are answered in order of the time their priority's target response time runs out, so
+// emergencies go first but older, less urgent inquiries are not starved. The time each inquiry waited for its first
+// response is recorded for each priority.
+// The subjects and remarks of all inquiries are kept in a full-text index, so inquiries can be searched by keyword
+// without scanning them all, and the dates of all inquiries are kept in a sorted index, so the inquiries of a range of
+// days can be found without scanning them all either.
 public class InquiryList {
     private ArrayList<Inquiry> inquiries;
+    private InquiryQueue queue;
+    private InquiryIndex index;
+    private InquiryDateIndex dateIndex;
+    private long nextSequence;
+    private long[][] responseTimes;
+    private int[] responseCounts;
+    private int[] missedTargets;
 
     // constructor
     // EFFECTS: constructs an empty list of inquiries.
     public InquiryList() {
         inquiries = new ArrayList<>();
+        queue = new InquiryQueue();
+        index = new InquiryIndex();
+        dateIndex = new InquiryDateIndex();
+        int priorities = InquiryPriority.values().length;
+        responseTimes = new long[priorities][16];
+        responseCounts = new int[priorities];
+        missedTargets = new int[priorities];
     }
 
     // initialize list of inquiries
-    // EFFECTS: initializes list of inquiries with dummy variables, and logs the event
+    // EFFECTS: initializes list of inquiries with new dummy inquiries, and logs the event
     public void initInquiries() {
-        addInquiry(I1);
-        addInquiry(I2);
-        addInquiry(I3);
-        EventLog.getInstance().logEvent(new Event("List of inquiries has been initialized."));
+        addInquiry(new Inquiry("cannot book appointment", "September 16, 2021", "N/a"));
+        addInquiry(new Inquiry("emergency appointment", "November 19, 2021", "Please hurry!",
+                InquiryPriority.EMERGENCY));
+        addInquiry(new Inquiry("I have a crush on a doctor", "January 4, 2021", "I won't say!",
+                InquiryPriority.LOW));
+        EventLog.getInstance().logEvent(new Event(EventType.INITIALIZED, EntityKind.INQUIRY, Event.NO_ID,
+                inquiries.size()));
     }
 
     // get list of inquiries
-    // EFFECTS: returns list of inquiries
+    // EFFECTS: returns a read-only list of all inquiries, in the order they were filed
     public List<Inquiry> getInquiries() {
-        return this.inquiries;
+        return Collections.unmodifiableList(this.inquiries);
     }
 
     // add inquiry to list of inquiries
-    // EFFECTS: adds inquiry to list of inquiries, and logs the event
+    // REQUIRES: i is not in any other list of inquiries
+    // MODIFIES: this, i
+    // EFFECTS: files inquiry now, adds it to list of inquiries and (unless it has been answered) to the triage
+    //          queue, and logs the event
     public void addInquiry(Inquiry i) {
+        addInquiry(i, AppointmentTime.now());
+    }
+
+    // add inquiry to list of inquiries
+    // REQUIRES: i is not in any other list of inquiries
+    // MODIFIES: this, i
+    // EFFECTS: files inquiry at the given epoch minute, adds it to list of inquiries, to the search and date indexes
+    //          and (unless it has been answered) to the triage queue, and logs the event
+    public void addInquiry(Inquiry i, long now) {
+        i.filed(now);
+        i.sequence = nextSequence++;
+        i.owner = this;
         inquiries.add(i);
-        EventLog.getInstance().logEvent(new Event("Inquiry has been added to list of inquiries."));
+        index.add(inquiries.size() - 1, i.getSubject(), i.getRemarks());
+        dateIndex.add(i.getDay());
+        if (!i.isAnswered()) {
+            queue.add(i);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.INQUIRY, i.sequence));
+    }
+
+    // get triage queue
+    // EFFECTS: returns the inquiries waiting for a response, most pressing first
+    public List<Inquiry> getQueue() {
+        return queue.inOrder();
+    }
+
+    // EFFECTS: returns the number of inquiries waiting for a response
+    public int waitingCount() {
+        return queue.size();
+    }
+
+    // EFFECTS: returns the most pressing inquiry waiting for a response, or null if there is none
+    public Inquiry peekNext() {
+        return queue.peek();
+    }
+
+    // respond to the most pressing inquiry
+    // MODIFIES: this
+    // EFFECTS: takes the most pressing inquiry off the triage queue, records that it was responded to now, and
+    //          returns it; returns null if no inquiry is waiting
+    public Inquiry respondToNext() {
+        return respondToNext(AppointmentTime.now());
+    }
+
+    // respond to the most pressing inquiry
+    // MODIFIES: this
+    // EFFECTS: takes the most pressing inquiry off the triage queue, records that it was responded to at the given
+    //          epoch minute, and returns it; returns null if no inquiry is waiting or it could not be responded to
+    public Inquiry respondToNext(long now) {
+        Inquiry next = queue.peek();
+        return next != null && respond(next, now) ? next : null;
+    }
+
+    // respond to an inquiry
+    // MODIFIES: this, i
+    // EFFECTS: if i is waiting in this list's triage queue, takes it off, records that it was responded to now, logs
+    //          the event and returns true; otherwise returns false
+    public boolean respond(Inquiry i) {
+        return respond(i, AppointmentTime.now());
+    }
+
+    // respond to an inquiry
+    // MODIFIES: this, i
+    // EFFECTS: if i is waiting in this list's triage queue, takes it off, records that it was responded to at the
+    //          given epoch minute, logs the event and returns true; otherwise returns false
+    public boolean respond(Inquiry i, long now) {
+        if (i.owner != this || i.isAnswered()) {
+            return false;
+        }
+        queue.remove(i);
+        i.responded(now);
+        recordResponseTime(i.getPriority(), now - i.getFiledAt(), now > i.getDeadline());
+        EventLog.getInstance().logEvent(new Event(EventType.RESPONDED, EntityKind.INQUIRY, i.sequence));
+        return true;
+    }
+
+    // search inquiries
+    // EFFECTS: returns up to limit inquiries whose subject or remarks contain every word of query (if all is true) or
+    //          any of them (if all is false), best match first; words are matched whole and ignoring case, and a
+    //          match counts for more the more often the words occur in it (twice as much in the subject) and the
+    //          rarer they are among all inquiries
+    public List<Inquiry> search(String query, boolean all, int limit) {
+        List<Inquiry> found = new ArrayList<>();
+        for (int doc : index.search(query, all, limit)) {
+            found.add(inquiries.get(doc));
+        }
+        return found;
     }
 
+    // find inquiries by date
+    // EFFECTS: returns the inquiries dated from epoch day fromDay to epoch day toDay (inclusive), earliest first and
+    //          in the order they were filed among inquiries of the same date; undated inquiries are never included
+    public List<Inquiry> getInquiriesBetween(int fromDay, int toDay) {
+        List<Inquiry> found = new ArrayList<>();
+        for (int doc : dateIndex.between(Math.max(fromDay, InquiryDate.UNDATED + 1), toDay)) {
+            found.add(inquiries.get(doc));
+        }
+        return found;
+    }
+
+    // find recent inquiries
+    // REQUIRES: days >= 0
+    // EFFECTS: returns the inquiries dated in the last given number of days, up to and including today, earliest
+    //          first
+    public List<Inquiry> getInquiriesInLastDays(int days) {
+        return getInquiriesInLastDays(days, InquiryDate.today());
+    }
+
+    // find recent inquiries
+    // REQUIRES: days >= 0
+    // EFFECTS: returns the inquiries dated in the last given number of days, up to and including epoch day today,
+    //          earliest first
+    public List<Inquiry> getInquiriesInLastDays(int days, int today) {
+        return getInquiriesBetween(today - days + 1, today);
+    }
+
+    // EFFECTS: returns the number of inquiries of the given priority that have been responded to
+    public int responseCount(InquiryPriority priority) {
+        return responseCounts[priority.ordinal()];
+    }
+
+    // EFFECTS: returns the number of inquiries of the given priority that were responded to after their target
+    //          response time
+    public int missedTargetCount(InquiryPriority priority) {
+        return missedTargets[priority.ordinal()];
+    }
+
+    // REQUIRES: 0 <= p <= 100
+    // EFFECTS: returns the smallest time to first response (in minutes) that at least p percent of inquiries of the
+    //          given priority were responded to within, or -1 if none have been responded to
+    public long responseTimePercentile(InquiryPriority priority, double p) {
+        int count = responseCounts[priority.ordinal()];
+        if (count == 0) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(responseTimes[priority.ordinal()], count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.max(1, Math.ceil(p / 100 * count));
+        return sorted[rank - 1];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves i to its new place in the triage queue; called by i when its priority is set
+    void priorityChanged(Inquiry i) {
+        if (!i.isAnswered()) {
+            queue.update(i);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes i, whose subject and remarks were the given ones; called by i when its subject or remarks
+    //          are set
+    void textChanged(Inquiry i, String subject, String remarks) {
+        int doc = (int) i.sequence;
+        index.remove(doc, subject, remarks);
+        index.add(doc, i.getSubject(), i.getRemarks());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves i to its new place in the date index; called by i when its date is set
+    void dateChanged(Inquiry i) {
+        dateIndex.update((int) i.sequence, i.getDay());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that an inquiry of the given priority waited the given number of minutes for a response
+    private void recordResponseTime(InquiryPriority priority, long minutes, boolean missedTarget) {
+        int p = priority.ordinal();
+        if (responseCounts[p] == responseTimes[p].length) {
+            responseTimes[p] = Arrays.copyOf(responseTimes[p], responseCounts[p] * 2);
+        }
+        responseTimes[p][responseCounts[p]++] = minutes;
+        if (missedTarget) {
+            missedTargets[p]++;
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package model;
+
+// This enum represents how urgently an inquiry needs a response, from most to least urgent.
+// Each priority has a target time to first response, in minutes. The triage queue answers inquiries in order of the
+// time their target runs out, so a less urgent inquiry that has waited long enough is answered before a more urgent
+// one that has only just been filed, and no inquiry waits forever.
+public enum InquiryPriority {
+    EMERGENCY(15),
+    URGENT(60),
+    ROUTINE(24 * 60),
+    LOW(3 * 24 * 60);
+
+    private final int targetMinutes;
+
+    InquiryPriority(int targetMinutes) {
+        this.targetMinutes = targetMinutes;
+    }
+
+    // EFFECTS: returns the target time to first response, in minutes
+    public int getTargetMinutes() {
+        return targetMinutes;
+    }
+}
@@ -0,0 +1,119 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// This class represents the triage queue of inquiries waiting for a response: a binary min-heap ordered by deadline
+// (the time the target response time of an inquiry runs out), then by priority, then by the order they were filed.
+// Each inquiry remembers its position in the heap, so any inquiry can be removed or moved after its priority changes
+// in O(log n) time, as well as the most pressing one.
+class InquiryQueue {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Inquiry[] heap = new Inquiry[INITIAL_CAPACITY];
+    private int size;
+
+    // EFFECTS: returns the number of inquiries waiting
+    int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the most pressing inquiry, or null if none are waiting
+    Inquiry peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    // REQUIRES: i is not in any queue
+    // MODIFIES: this, i
+    // EFFECTS: adds i to the queue
+    void add(Inquiry i) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        place(i, size++);
+        siftUp(i.queueIndex);
+    }
+
+    // MODIFIES: this, i
+    // EFFECTS: removes i from the queue, if it is in it
+    void remove(Inquiry i) {
+        int at = i.queueIndex;
+        if (at < 0 || at >= size || heap[at] != i) {
+            return;
+        }
+        Inquiry last = heap[--size];
+        heap[size] = null;
+        i.queueIndex = -1;
+        if (last != i) {
+            place(last, at);
+            update(last);
+        }
+    }
+
+    // REQUIRES: i is in this queue
+    // MODIFIES: this
+    // EFFECTS: moves i to its place after its priority has changed
+    void update(Inquiry i) {
+        siftUp(i.queueIndex);
+        siftDown(i.queueIndex);
+    }
+
+    // EFFECTS: returns the waiting inquiries, most pressing first
+    List<Inquiry> inOrder() {
+        Inquiry[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, InquiryQueue::compare);
+        return new ArrayList<>(Arrays.asList(sorted));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the inquiry at position at up until its parent is no less pressing
+    private void siftUp(int at) {
+        Inquiry moving = heap[at];
+        while (at > 0) {
+            int parent = (at - 1) >>> 1;
+            if (compare(heap[parent], moving) <= 0) {
+                break;
+            }
+            place(heap[parent], at);
+            at = parent;
+        }
+        place(moving, at);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the inquiry at position at down until both its children are no more pressing
+    private void siftDown(int at) {
+        Inquiry moving = heap[at];
+        while (true) {
+            int child = 2 * at + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (compare(moving, heap[child]) <= 0) {
+                break;
+            }
+            place(heap[child], at);
+            at = child;
+        }
+        place(moving, at);
+    }
+
+    private void place(Inquiry i, int at) {
+        heap[at] = i;
+        i.queueIndex = at;
+    }
+
+    // EFFECTS: returns a negative number if a is more pressing than b, a positive number if b is, and 0 if a is b
+    private static int compare(Inquiry a, Inquiry b) {
+        int byDeadline = Long.compare(a.getDeadline(), b.getDeadline());
+        if (byDeadline != 0) {
+            return byDeadline;
+        }
+        int byPriority = a.getPriority().compareTo(b.getPriority());
+        return byPriority != 0 ? byPriority : Long.compare(a.sequence, b.sequence);
+    }
+}
@@ -0,0 +1,167 @@
+package model;
+
+// This class represents a set of half-open time intervals [start, end), each carrying a value, that can be asked
+// for an interval overlapping a given one in O(log n) time.
+// It is a binary search tree ordered by start, where each node also remembers the latest end in its subtree, so a
+// search can skip any subtree that ends before the interval asked about. The tree is kept balanced as a treap:
+// every node gets a pseudo-random priority and parents always have a higher priority than their children.
+class IntervalTree<E> {
+    private Node<E> root;
+    private int size;
+    private int seed = 0x2545F491;
+
+    private static final class Node<E> {
+        private final long start;
+        private final long end;
+        private final E value;
+        private final int priority;
+        private long maxEnd;
+        private Node<E> left;
+        private Node<E> right;
+
+        Node(long start, long end, E value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    // EFFECTS: returns the number of intervals in the tree
+    public int size() {
+        return size;
+    }
+
+    // REQUIRES: start < end
+    // MODIFIES: this
+    // EFFECTS: adds the interval [start, end) carrying value
+    public void insert(long start, long end, E value) {
+        root = insert(root, new Node<>(start, end, value, nextPriority()));
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the interval starting at start that carries value itself, and returns true if it was there
+    public boolean remove(long start, E value) {
+        int before = size;
+        root = remove(root, start, value);
+        return size < before;
+    }
+
+    // EFFECTS: returns the value of an interval that overlaps [start, end), or null if no interval does
+    public E findOverlap(long start, long end) {
+        Node<E> node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return node.value;
+            }
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: inserts n into the subtree at node, and returns the new root of that subtree
+    private Node<E> insert(Node<E> node, Node<E> n) {
+        if (node == null) {
+            return n;
+        }
+        if (n.start < node.start) {
+            node.left = insert(node.left, n);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, n);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the node for (start, value) from the subtree at node, and returns the new root of that subtree;
+    //          nodes with equal starts may sit on either side after rotations, so both sides are searched for them
+    private Node<E> remove(Node<E> node, long start, E value) {
+        if (node == null) {
+            return null;
+        }
+        if (node.start == start && node.value == value) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (start <= node.start) {
+            node.left = remove(node.left, start, value);
+        }
+        if (start >= node.start) {
+            node.right = remove(node.right, start, value);
+        }
+        update(node);
+        return node;
+    }
+
+    // EFFECTS: joins two subtrees where every start in left is at most every start in right, and returns the root
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> top = node.left;
+        node.left = top.right;
+        top.right = node;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> top = node.right;
+        node.right = top.left;
+        top.left = node;
+        update(node);
+        update(top);
+        return top;
+    }
+
+    // MODIFIES: node
+    // EFFECTS: recomputes the latest end in the subtree at node from its children
+    private void update(Node<E> node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the next pseudo-random node priority (xorshift)
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+}
@@ -12,37 +12,54 @@ public class MedicalRecord implements Writable {
     private int age;
     private int height; // in cm
     private int weight; // in kg
-    private String bloodType;
+    private BloodType bloodType;
+
+    // the list this medical record is in, which is told whenever it changes, and its row in that list
+    MedicalRecordList owner;
+    int row = -1;
 
     // constructor
-    // EFFECTS: constructs a medical record with given name, age, height, weight, and blood type
+    // EFFECTS: constructs a medical record with given name, age, height, weight, and blood type;
+    //          throws IllegalArgumentException if bloodType is not a blood type
     public MedicalRecord(String name, int age, int height, int weight, String bloodType) {
+        this(name, age, height, weight, BloodType.parse(bloodType));
+    }
+
+    // constructor
+    // EFFECTS: constructs a medical record with given name, age, height, weight, and blood type (UNKNOWN if null)
+    public MedicalRecord(String name, int age, int height, int weight, BloodType bloodType) {
         this.name = name;
         this.age = age;
         this.height = height;
         this.weight = weight;
-        this.bloodType = bloodType;
+        this.bloodType = bloodType == null ? BloodType.UNKNOWN : bloodType;
     }
 
     // Setter and Getter methods
     public void setName(String name) {
         this.name = name;
+        changed(bloodType);
     }
 
     public void setAge(int age) {
         this.age = age;
+        changed(bloodType);
     }
 
     public void setHeight(int height) {
         this.height = height;
+        changed(bloodType);
     }
 
     public void setWeight(int weight) {
         this.weight = weight;
+        changed(bloodType);
     }
 
-    public void setBloodType(String bloodType) {
-        this.bloodType = bloodType;
+    public void setBloodType(BloodType bloodType) {
+        BloodType before = this.bloodType;
+        this.bloodType = bloodType == null ? BloodType.UNKNOWN : bloodType;
+        changed(before);
     }
 
     public String getName() {
@@ -61,20 +78,27 @@ public class MedicalRecord implements Writable {
         return this.weight;
     }
 
-    public String getBloodType() {
+    public BloodType getBloodType() {
         return this.bloodType;
     }
 
+    // EFFECTS: tells the list this medical record is in, if any, that it has changed from having blood type before
+    private void changed(BloodType before) {
+        if (owner != null) {
+            owner.changed(row, before);
+        }
+    }
+
     // converts medical record to JSon object
     // EFFECTS: converts given medical record to JSon object
     @Override
     public JSONObject toJson() {
         JSONObject json = new JSONObject();
-        json.put("name", name);
-        json.put("age", age);
-        json.put("height", height);
-        json.put("weight", weight);
-        json.put("blood type", bloodType);
+        json.put("name", getName());
+        json.put("age", getAge());
+        json.put("height", getHeight());
+        json.put("weight", getWeight());
+        json.put("blood type", getBloodType().toString());
         return json;
     }
 }
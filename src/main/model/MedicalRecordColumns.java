@@ -0,0 +1,175 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+// This class represents medical records stored column by column: one array per field, with row i of every array
+// holding the fields of record i. Ages, heights and weights are plain int arrays, and blood types are stored as one
+// byte per record holding the ordinal of the BloodType, so that scans over millions of records read dense arrays
+// instead of chasing one object per record. Records are read and edited through MedicalRecord views of their rows.
+// The list the columns belong to is told whenever a row is changed through a view.
+class MedicalRecordColumns extends AbstractList<MedicalRecord> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] names;
+    private int[] ages;
+    private int[] heights;
+    private int[] weights;
+    private byte[] bloodTypes;
+    private int size;
+    private final MedicalRecordList list;
+
+    // constructor
+    // EFFECTS: constructs an empty set of columns belonging to the given list
+    MedicalRecordColumns(MedicalRecordList list) {
+        this.list = list;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // EFFECTS: returns the number of records
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns a view of record i; changes made through the view are written to the columns
+    @Override
+    public MedicalRecord get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Row " + i + " of " + size);
+        }
+        return new View(i);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends a row holding the fields of m
+    void append(MedicalRecord m) {
+        ensureCapacity(size + 1);
+        names[size] = m.getName();
+        ages[size] = m.getAge();
+        heights[size] = m.getHeight();
+        weights[size] = m.getWeight();
+        bloodTypes[size] = (byte) m.getBloodType().ordinal();
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes sure the columns can hold n records without growing
+    void ensureCapacity(int n) {
+        if (n > ages.length) {
+            allocate(Math.max(n, ages.length * 2));
+        }
+    }
+
+    // EFFECTS: returns the age of record i
+    int age(int i) {
+        return ages[i];
+    }
+
+    // EFFECTS: returns the height of record i
+    int height(int i) {
+        return heights[i];
+    }
+
+    // EFFECTS: returns the weight of record i
+    int weight(int i) {
+        return weights[i];
+    }
+
+    // EFFECTS: returns the ordinal of the blood type of record i
+    int bloodTypeOrdinal(int i) {
+        return bloodTypes[i];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows every column to the given capacity, keeping the existing rows
+    private void allocate(int capacity) {
+        names = names == null ? new String[capacity] : Arrays.copyOf(names, capacity);
+        ages = ages == null ? new int[capacity] : Arrays.copyOf(ages, capacity);
+        heights = heights == null ? new int[capacity] : Arrays.copyOf(heights, capacity);
+        weights = weights == null ? new int[capacity] : Arrays.copyOf(weights, capacity);
+        bloodTypes = bloodTypes == null ? new byte[capacity] : Arrays.copyOf(bloodTypes, capacity);
+    }
+
+    // A medical record that reads and writes one row of the columns instead of holding its own fields.
+    private final class View extends MedicalRecord {
+        private final int row;
+
+        View(int row) {
+            super(null, 0, 0, 0, BloodType.UNKNOWN);
+            this.row = row;
+        }
+
+        @Override
+        public void setName(String name) {
+            names[row] = name;
+            list.changed(row, getBloodType());
+        }
+
+        @Override
+        public void setAge(int age) {
+            ages[row] = age;
+            list.changed(row, getBloodType());
+        }
+
+        @Override
+        public void setHeight(int height) {
+            heights[row] = height;
+            list.changed(row, getBloodType());
+        }
+
+        @Override
+        public void setWeight(int weight) {
+            weights[row] = weight;
+            list.changed(row, getBloodType());
+        }
+
+        @Override
+        public void setBloodType(BloodType bloodType) {
+            BloodType before = getBloodType();
+            BloodType after = bloodType == null ? BloodType.UNKNOWN : bloodType;
+            bloodTypes[row] = (byte) after.ordinal();
+            list.changed(row, before);
+        }
+
+        @Override
+        public String getName() {
+            return names[row];
+        }
+
+        @Override
+        public int getAge() {
+            return ages[row];
+        }
+
+        @Override
+        public int getHeight() {
+            return heights[row];
+        }
+
+        @Override
+        public int getWeight() {
+            return weights[row];
+        }
+
+        @Override
+        public BloodType getBloodType() {
+            return BloodType.ofOrdinal(bloodTypes[row]);
+        }
+
+        // EFFECTS: returns true if other is a view of the same row of the same columns
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof View && ((View) other).row == row && ((View) other).columns() == columns();
+        }
+
+        @Override
+        public int hashCode() {
+            return row;
+        }
+
+        private MedicalRecordColumns columns() {
+            return MedicalRecordColumns.this;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+
+// This class represents the history of a list of medical records: every change to the list makes a new numbered
+// version, starting from version 0, and the records can be read as they were at any version.
+// Each version is a persistent vector of frozen copies of the records, sharing every unchanged part with the version
+// before it, so a change costs O(log n) time and memory no matter how many records there are. Reading a version
+// costs O(log n) per record, and a snapshot of a version never changes, so reports can read one while the list goes
+// on being edited.
+public class MedicalRecordHistory {
+    private final ArrayList<PersistentVector<MedicalRecord>> versions;
+
+    // constructor
+    // EFFECTS: constructs a history whose version 0 holds copies of records
+    MedicalRecordHistory(Collection<MedicalRecord> records) {
+        versions = new ArrayList<>();
+        versions.add(appendAll(PersistentVector.empty(), records));
+    }
+
+    // EFFECTS: returns the number of the latest version
+    public synchronized int currentVersion() {
+        return versions.size() - 1;
+    }
+
+    // EFFECTS: returns the records as they were at the given version;
+    //          throws IllegalArgumentException if there is no such version
+    public synchronized Snapshot asOf(int version) {
+        if (version < 0 || version >= versions.size()) {
+            throw new IllegalArgumentException("No version " + version + " of the medical records");
+        }
+        return new Snapshot(version, versions.get(version));
+    }
+
+    // EFFECTS: returns the records as they are at the latest version
+    public synchronized Snapshot snapshot() {
+        return asOf(currentVersion());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a new version in which the record at row is a copy of m; row may be one past the last record,
+    //          to add m
+    synchronized void record(int row, MedicalRecord m) {
+        PersistentVector<MedicalRecord> latest = versions.get(versions.size() - 1);
+        MedicalRecord frozen = new Frozen(m);
+        versions.add(row == latest.size() ? latest.append(frozen, null) : latest.set(row, frozen, null));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes a single new version with copies of records added at the end
+    synchronized void recordAll(Collection<MedicalRecord> records) {
+        versions.add(appendAll(versions.get(versions.size() - 1), records));
+    }
+
+    // EFFECTS: returns vector with copies of records added at the end, as a single batch of changes
+    private static PersistentVector<MedicalRecord> appendAll(PersistentVector<MedicalRecord> vector,
+                                                             Collection<MedicalRecord> records) {
+        PersistentVector<MedicalRecord> next = vector;
+        Object edit = new Object();
+        for (MedicalRecord m : records) {
+            next = next.append(new Frozen(m), edit);
+        }
+        return next;
+    }
+
+    // The records of one version of the history. It cannot be changed, and neither can the records read from it.
+    public static final class Snapshot extends AbstractList<MedicalRecord> {
+        private final int version;
+        private final PersistentVector<MedicalRecord> records;
+
+        private Snapshot(int version, PersistentVector<MedicalRecord> records) {
+            this.version = version;
+            this.records = records;
+        }
+
+        // EFFECTS: returns the number of the version this is a snapshot of
+        public int getVersion() {
+            return version;
+        }
+
+        // EFFECTS: returns record i as it was at this version; the record cannot be changed
+        @Override
+        public MedicalRecord get(int i) {
+            return records.get(i);
+        }
+
+        @Override
+        public int size() {
+            return records.size();
+        }
+    }
+
+    // A copy of a medical record as it was at some version, whose setters throw UnsupportedOperationException.
+    private static final class Frozen extends MedicalRecord {
+        private static final String FROZEN = "A medical record in the history cannot be changed";
+
+        Frozen(MedicalRecord m) {
+            super(m.getName(), m.getAge(), m.getHeight(), m.getWeight(), m.getBloodType());
+        }
+
+        @Override
+        public void setName(String name) {
+            throw new UnsupportedOperationException(FROZEN);
+        }
+
+        @Override
+        public void setAge(int age) {
+            throw new UnsupportedOperationException(FROZEN);
+        }
+
+        @Override
+        public void setHeight(int height) {
+            throw new UnsupportedOperationException(FROZEN);
+        }
+
+        @Override
+        public void setWeight(int weight) {
+            throw new UnsupportedOperationException(FROZEN);
+        }
+
+        @Override
+        public void setBloodType(BloodType bloodType) {
+            throw new UnsupportedOperationException(FROZEN);
+        }
+    }
+}
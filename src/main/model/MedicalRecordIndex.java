@@ -0,0 +1,185 @@
+package model;
+
+import java.util.Arrays;
+import java.util.Set;
+
+// This class represents the secondary indexes of a list of medical records, which refer to records by their row (their
+// position in the list): one bitmap per blood type, where bit i is set if record i has that blood type, and the rows
+// sorted by age.
+// A query finds the run of rows in an age range by binary search and keeps the rows whose bit is set in the union of
+// the bitmaps of the blood types asked for. Rows are appended to the age index while ages arrive in order; otherwise the
+// index is re-sorted on the next query.
+class MedicalRecordIndex {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[][] bloodTypeRows;
+    private int[] bloodTypeCounts;
+    private int[] ages;
+    private int[] rowsByAge;
+    private boolean sorted;
+    private int size;
+
+    // constructor
+    // EFFECTS: constructs an index of no records
+    MedicalRecordIndex() {
+        bloodTypeRows = new long[BloodType.values().length][];
+        bloodTypeCounts = new int[bloodTypeRows.length];
+        allocate(INITIAL_CAPACITY);
+        sorted = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes sure the index can hold n records without growing
+    void ensureCapacity(int n) {
+        if (n > ages.length) {
+            allocate(Math.max(n, ages.length * 2));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: indexes the next row, with the given blood type and age
+    void add(BloodType bloodType, int age) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        ages[row] = age;
+        set(bloodType, row);
+        if (sorted && (row == 0 || age >= ages[rowsByAge[row - 1]])) {
+            rowsByAge[row] = row;
+        } else {
+            sorted = false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes row, which had blood type before and now has the given blood type and age
+    void update(int row, BloodType before, BloodType bloodType, int age) {
+        clear(before, row);
+        set(bloodType, row);
+        if (ages[row] != age) {
+            ages[row] = age;
+            sorted = false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the number of rows with one of the given blood types and an age in [minAge, maxAge]
+    int count(Set<BloodType> bloodTypes, int minAge, int maxAge) {
+        long[] wanted = union(bloodTypes);
+        int lo = firstWithAge(minAge);
+        int hi = maxAge == Integer.MAX_VALUE ? size : firstWithAge(maxAge + 1);
+        int count = 0;
+        if (lo == 0 && hi == size) {
+            for (long word : wanted) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+        for (int i = lo; i < hi; i++) {
+            count += (int) (wanted[rowsByAge[i] >>> 6] >>> rowsByAge[i]) & 1;
+        }
+        return count;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns up to limit rows with one of the given blood types and an age in [minAge, maxAge], youngest
+    //          first
+    int[] find(Set<BloodType> bloodTypes, int minAge, int maxAge, int limit) {
+        long[] wanted = union(bloodTypes);
+        int hi = maxAge == Integer.MAX_VALUE ? size : firstWithAge(maxAge + 1);
+        int[] found = new int[Math.max(0, Math.min(limit, hi))];
+        int n = 0;
+        for (int i = firstWithAge(minAge); i < hi && n < found.length; i++) {
+            int row = rowsByAge[i];
+            if ((wanted[row >>> 6] & 1L << row) != 0) {
+                found[n++] = row;
+            }
+        }
+        return n == found.length ? found : Arrays.copyOf(found, n);
+    }
+
+    // EFFECTS: returns the bitmap of rows having one of the given blood types, which must not be modified
+    private long[] union(Set<BloodType> bloodTypes) {
+        int words = (size + 63) >>> 6;
+        long[] wanted = null;
+        for (BloodType t : bloodTypes) {
+            long[] rows = bloodTypeRows[t.ordinal()];
+            if (rows == null || bloodTypeCounts[t.ordinal()] == 0) {
+                continue;
+            }
+            if (wanted == null && bloodTypes.size() == 1) {
+                return rows;
+            }
+            wanted = wanted == null ? new long[words] : wanted;
+            for (int w = 0; w < words; w++) {
+                wanted[w] |= rows[w];
+            }
+        }
+        return wanted == null ? new long[words] : wanted;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the position in the age index of the first row aged at least age, sorting the index first if
+    //          needed
+    private int firstWithAge(int age) {
+        if (!sorted) {
+            sortByAge();
+        }
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ages[rowsByAge[mid]] < age) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: rebuilds the age index, ordering rows of equal age by row
+    private void sortByAge() {
+        long[] keys = new long[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = (long) ages[row] << 32 | row;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            rowsByAge[i] = (int) keys[i];
+        }
+        sorted = true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the bit of row in the bitmap of bloodType
+    private void set(BloodType bloodType, int row) {
+        int t = bloodType.ordinal();
+        if (bloodTypeRows[t] == null) {
+            bloodTypeRows[t] = new long[(ages.length + 63) >>> 6];
+        }
+        bloodTypeRows[t][row >>> 6] |= 1L << row;
+        bloodTypeCounts[t]++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears the bit of row in the bitmap of bloodType
+    private void clear(BloodType bloodType, int row) {
+        int t = bloodType.ordinal();
+        bloodTypeRows[t][row >>> 6] &= ~(1L << row);
+        bloodTypeCounts[t]--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows the index to the given capacity, keeping the existing rows
+    private void allocate(int capacity) {
+        ages = ages == null ? new int[capacity] : Arrays.copyOf(ages, capacity);
+        rowsByAge = rowsByAge == null ? new int[capacity] : Arrays.copyOf(rowsByAge, capacity);
+        int words = (capacity + 63) >>> 6;
+        for (int t = 0; t < bloodTypeRows.length; t++) {
+            if (bloodTypeRows[t] != null) {
+                bloodTypeRows[t] = Arrays.copyOf(bloodTypeRows[t], words);
+            }
+        }
+    }
+}
@@ -5,38 +5,170 @@ import org.json.JSONObject;
 import persistence.Writable;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 // This class represents a list of medical records.
 // This class references code from the JSonSerializationDemo project.
 // This code references the AlarmSystem code given by the course.
+// A list can either hold the medical record objects it is given, or be columnar: then the fields of each record are
+// copied into one array per field, which takes far less memory and is much faster to scan for large lists, and the
+// records are read and edited through views of the columns.
+// Either way, the records are indexed by blood type and by age, so that records of some blood types in a range of
+// ages, such as compatible donors, can be found without scanning the whole list. A list can also be asked to keep its
+// history, after which every change makes a new version of the records that can be read later.
 public class MedicalRecordList implements Writable {
     private ArrayList<MedicalRecord> medicalRecords;
+    private MedicalRecordColumns columns;
+    private MedicalRecordIndex index;
+    private MedicalRecordHistory history;
 
     // constructor
     // EFFECTS: constructs an empty list of medical records.
     public MedicalRecordList() {
-        medicalRecords = new ArrayList<>();
+        this(false);
+    }
+
+    // constructor
+    // EFFECTS: constructs an empty list of medical records, stored column by column if columnar is true
+    public MedicalRecordList(boolean columnar) {
+        index = new MedicalRecordIndex();
+        if (columnar) {
+            columns = new MedicalRecordColumns(this);
+        } else {
+            medicalRecords = new ArrayList<>();
+        }
+    }
+
+    // EFFECTS: returns true if the records of this list are stored column by column
+    public boolean isColumnar() {
+        return columns != null;
+    }
+
+    // EFFECTS: returns the columns of a columnar list, or null if the list holds record objects
+    MedicalRecordColumns getColumns() {
+        return columns;
+    }
+
+    // summary statistics
+    // EFFECTS: returns summary statistics over every record in the list, computed in parallel
+    public MedicalRecordStatistics statistics() {
+        return MedicalRecordStatistics.of(this);
     }
 
     // get list of medical records
-    // EFFECTS: returns list of medical records
+    // EFFECTS: returns an unmodifiable view of the list of medical records; in a columnar list these are views of the
+    //          columns, so changes made through them are kept, but they are not the objects that were added
     public List<MedicalRecord> getMedicalRecords() {
-        return this.medicalRecords;
+        return Collections.unmodifiableList(isColumnar() ? columns : this.medicalRecords);
     }
 
     // add medical record to list of medical records
-    // EFFECTS: adds medical record m to list of medical records, and logs the event
+    // EFFECTS: adds medical record m to list of medical records, and logs the event; a columnar list copies the
+    //          fields of m, so later changes to m itself are not seen by the list
     public void addMedicalRecord(MedicalRecord m) {
-        medicalRecords.add(m);
-        EventLog.getInstance().logEvent(new Event("Medical record has been added to list of medical "
-                + "records."));
+        attach(m);
+        if (history != null) {
+            history.record(length() - 1, m);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.MEDICAL_RECORD, length() - 1));
+    }
+
+    // add many medical records to list of medical records at once
+    // MODIFIES: this
+    // EFFECTS: adds all medical records in ms to list of medical records in order, growing the list only once, and
+    //          logs a single event with the number of medical records added
+    public void addAll(Collection<MedicalRecord> ms) {
+        if (isColumnar()) {
+            columns.ensureCapacity(columns.size() + ms.size());
+        } else {
+            medicalRecords.ensureCapacity(medicalRecords.size() + ms.size());
+        }
+        index.ensureCapacity(length() + ms.size());
+        for (MedicalRecord m : ms) {
+            attach(m);
+        }
+        if (history != null) {
+            history.recordAll(ms);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.MEDICAL_RECORD, Event.NO_ID,
+                ms.size()));
+    }
+
+    // keep history
+    // MODIFIES: this
+    // EFFECTS: starts keeping the history of this list, if it is not kept already, with the records as they are now
+    //          as its first version; returns the history
+    public MedicalRecordHistory keepHistory() {
+        if (history == null) {
+            history = new MedicalRecordHistory(getMedicalRecords());
+        }
+        return history;
+    }
+
+    // get history
+    // EFFECTS: returns the history of this list, or null if it is not being kept
+    public MedicalRecordHistory getHistory() {
+        return history;
+    }
+
+    // find medical records
+    // EFFECTS: returns up to limit medical records with one of the given blood types and an age from minAge to maxAge
+    //          inclusive, youngest first
+    public List<MedicalRecord> find(Set<BloodType> bloodTypes, int minAge, int maxAge, int limit) {
+        int[] rows = index.find(bloodTypes, minAge, maxAge, limit);
+        List<MedicalRecord> records = getMedicalRecords();
+        List<MedicalRecord> found = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            found.add(records.get(row));
+        }
+        return found;
+    }
+
+    // count medical records
+    // EFFECTS: returns the number of medical records with one of the given blood types and an age from minAge to
+    //          maxAge inclusive
+    public int count(Set<BloodType> bloodTypes, int minAge, int maxAge) {
+        return index.count(bloodTypes, minAge, maxAge);
+    }
+
+    // find compatible donors
+    // EFFECTS: returns up to limit medical records whose blood can safely be given to a recipient of the given blood
+    //          type, with an age from minAge to maxAge inclusive, youngest first
+    public List<MedicalRecord> findDonors(BloodType recipient, int minAge, int maxAge, int limit) {
+        return find(BloodType.donorsFor(recipient), minAge, maxAge, limit);
     }
 
     // get length of list
     // EFFECTS: returns length of list of medical records
     public int length() {
-        return medicalRecords.size();
+        return getMedicalRecords().size();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: re-indexes the record at row, whose blood type was before, and records it in the history if that is
+    //          kept; called by a record of this list after it has been changed
+    void changed(int row, BloodType before) {
+        MedicalRecord m = getMedicalRecords().get(row);
+        index.update(row, before, m.getBloodType(), m.getAge());
+        if (history != null) {
+            history.record(row, m);
+        }
+    }
+
+    // MODIFIES: this, m
+    // EFFECTS: adds m (or, in a columnar list, its fields) to the end of the list and to the indexes
+    private void attach(MedicalRecord m) {
+        index.add(m.getBloodType(), m.getAge());
+        if (isColumnar()) {
+            columns.append(m);
+        } else {
+            m.owner = this;
+            m.row = medicalRecords.size();
+            medicalRecords.add(m);
+        }
     }
 
     // parses the list and converts each medical record to Json
@@ -52,7 +184,7 @@ public class MedicalRecordList implements Writable {
     private JSONArray medicalRecordsToJson() {
         JSONArray jsonArray = new JSONArray();
 
-        for (MedicalRecord m : medicalRecords) {
+        for (MedicalRecord m : getMedicalRecords()) {
             jsonArray.put(m.toJson());
         }
 
@@ -0,0 +1,236 @@
+package model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// This class represents summary statistics over a list of medical records: the number of records of each blood type,
+// a histogram of ages by decade, the mean and percentiles of heights and weights, and the number of records in each
+// BMI category.
+// All of them are computed in one pass over the records, split into ranges that are scanned in parallel on the common
+// fork/join pool. Each range is counted into its own accumulator of primitive arrays, and the accumulators are merged
+// as the ranges are joined, so no locking or boxing is needed per record. Heights and weights are counted in whole
+// centimetres and kilograms, so their percentiles are exact.
+public final class MedicalRecordStatistics {
+    public static final int AGE_BUCKET_YEARS = 10;
+    // the last age bucket holds every age from 100 up
+    public static final int AGE_BUCKETS = 11;
+    // heights and weights above these are counted as these for percentiles
+    public static final int MAX_HEIGHT = 300;
+    public static final int MAX_WEIGHT = 700;
+
+    // ranges of at most this many records are scanned by a single task
+    private static final int SPLIT_THRESHOLD = 1 << 16;
+
+    // The BMI categories records are counted in. UNKNOWN holds records without a positive height and weight.
+    public enum BmiCategory {
+        UNDERWEIGHT, NORMAL, OVERWEIGHT, OBESE, UNKNOWN
+    }
+
+    private final Accumulator totals;
+    private final Map<BloodType, Long> bloodTypeCounts;
+
+    private MedicalRecordStatistics(Accumulator totals) {
+        this.totals = totals;
+        EnumMap<BloodType, Long> counts = new EnumMap<>(BloodType.class);
+        for (BloodType t : BloodType.values()) {
+            if (totals.bloodTypes[t.ordinal()] > 0) {
+                counts.put(t, totals.bloodTypes[t.ordinal()]);
+            }
+        }
+        this.bloodTypeCounts = Collections.unmodifiableMap(counts);
+    }
+
+    // EFFECTS: returns the statistics of every record in ml, computed in parallel
+    public static MedicalRecordStatistics of(MedicalRecordList ml) {
+        MedicalRecordColumns columns = ml.getColumns();
+        if (columns == null) {
+            return of(ml.getMedicalRecords());
+        }
+        return new MedicalRecordStatistics(ForkJoinPool.commonPool().invoke(new Task(columns, null, 0, ml.length())));
+    }
+
+    // EFFECTS: returns the statistics of every record in records, such as a snapshot from the history of a list,
+    //          computed in parallel; records must be a list with fast access by position
+    public static MedicalRecordStatistics of(List<MedicalRecord> records) {
+        Task all = new Task(null, records, 0, records.size());
+        return new MedicalRecordStatistics(ForkJoinPool.commonPool().invoke(all));
+    }
+
+    // EFFECTS: returns the number of records
+    public long getCount() {
+        return totals.count;
+    }
+
+    // EFFECTS: returns the number of records of each blood type that any record has
+    public Map<BloodType, Long> getBloodTypeCounts() {
+        return bloodTypeCounts;
+    }
+
+    // EFFECTS: returns the number of records in each age bucket, where bucket i holds ages from
+    //          i * AGE_BUCKET_YEARS up to (i + 1) * AGE_BUCKET_YEARS - 1, and the last bucket holds every older age
+    public long[] getAgeHistogram() {
+        return totals.ages.clone();
+    }
+
+    // EFFECTS: returns the mean height, or 0 if there are no records
+    public double getMeanHeight() {
+        return totals.count == 0 ? 0 : (double) totals.heightSum / totals.count;
+    }
+
+    // EFFECTS: returns the mean weight, or 0 if there are no records
+    public double getMeanWeight() {
+        return totals.count == 0 ? 0 : (double) totals.weightSum / totals.count;
+    }
+
+    // REQUIRES: 0 <= p <= 100
+    // EFFECTS: returns the smallest height that at least p percent of records are no taller than, or 0 if there are
+    //          no records
+    public int getHeightPercentile(double p) {
+        return percentile(totals.heights, totals.count, p);
+    }
+
+    // REQUIRES: 0 <= p <= 100
+    // EFFECTS: returns the smallest weight that at least p percent of records are no heavier than, or 0 if there are
+    //          no records
+    public int getWeightPercentile(double p) {
+        return percentile(totals.weights, totals.count, p);
+    }
+
+    // EFFECTS: returns the number of records in the given BMI category
+    public long getBmiCount(BmiCategory category) {
+        return totals.bmis[category.ordinal()];
+    }
+
+    // EFFECTS: returns the BMI category of a record with the given height (in cm) and weight (in kg)
+    public static BmiCategory bmiCategory(int height, int weight) {
+        if (height <= 0 || weight <= 0) {
+            return BmiCategory.UNKNOWN;
+        }
+        // ten times the BMI, in integer arithmetic
+        long bmi = weight * 100000L / ((long) height * height);
+        if (bmi < 185) {
+            return BmiCategory.UNDERWEIGHT;
+        } else if (bmi < 250) {
+            return BmiCategory.NORMAL;
+        } else if (bmi < 300) {
+            return BmiCategory.OVERWEIGHT;
+        }
+        return BmiCategory.OBESE;
+    }
+
+    // EFFECTS: returns the smallest value whose cumulative count in histogram reaches p percent of count
+    private static int percentile(long[] histogram, long count, double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+        long seen = 0;
+        for (int value = 0; value < histogram.length; value++) {
+            seen += histogram[value];
+            if (seen >= rank) {
+                return value;
+            }
+        }
+        return histogram.length - 1;
+    }
+
+    // The counts and sums of one range of records.
+    private static final class Accumulator {
+        private final long[] ages = new long[AGE_BUCKETS];
+        private final long[] heights = new long[MAX_HEIGHT + 1];
+        private final long[] weights = new long[MAX_WEIGHT + 1];
+        private final long[] bmis = new long[BmiCategory.values().length];
+        private final long[] bloodTypes = new long[BloodType.values().length];
+        private long count;
+        private long heightSum;
+        private long weightSum;
+
+        // MODIFIES: this
+        // EFFECTS: counts a record with the given age, height, weight and blood type ordinal
+        void add(int age, int height, int weight, int bloodType) {
+            count++;
+            bloodTypes[bloodType]++;
+            heightSum += height;
+            weightSum += weight;
+            ages[clamp(age / AGE_BUCKET_YEARS, AGE_BUCKETS - 1)]++;
+            heights[clamp(height, MAX_HEIGHT)]++;
+            weights[clamp(weight, MAX_WEIGHT)]++;
+            bmis[bmiCategory(height, weight).ordinal()]++;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: adds the counts and sums of other to this, and returns this
+        Accumulator merge(Accumulator other) {
+            count += other.count;
+            heightSum += other.heightSum;
+            weightSum += other.weightSum;
+            addAll(ages, other.ages);
+            addAll(heights, other.heights);
+            addAll(weights, other.weights);
+            addAll(bmis, other.bmis);
+            addAll(bloodTypes, other.bloodTypes);
+            return this;
+        }
+
+        private static void addAll(long[] into, long[] from) {
+            for (int i = 0; i < into.length; i++) {
+                into[i] += from[i];
+            }
+        }
+
+        private static int clamp(int value, int max) {
+            return Math.max(0, Math.min(value, max));
+        }
+    }
+
+    // A task that computes the statistics of the records in [from, to), either by scanning them or by splitting the
+    // range in two and merging the results. Exactly one of columns and records is used.
+    private static final class Task extends RecursiveTask<Accumulator> {
+        private final MedicalRecordColumns columns;
+        private final List<MedicalRecord> records;
+        private final int from;
+        private final int to;
+
+        Task(MedicalRecordColumns columns, List<MedicalRecord> records, int from, int to) {
+            this.columns = columns;
+            this.records = records;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                return columns == null ? scanRecords() : scanColumns();
+            }
+            int mid = (from + to) >>> 1;
+            Task left = new Task(columns, records, from, mid);
+            left.fork();
+            Accumulator right = new Task(columns, records, mid, to).compute();
+            return left.join().merge(right);
+        }
+
+        // EFFECTS: counts the records in range by reading the columns
+        private Accumulator scanColumns() {
+            Accumulator acc = new Accumulator();
+            for (int i = from; i < to; i++) {
+                acc.add(columns.age(i), columns.height(i), columns.weight(i), columns.bloodTypeOrdinal(i));
+            }
+            return acc;
+        }
+
+        // EFFECTS: counts the records in range by reading the record objects
+        private Accumulator scanRecords() {
+            Accumulator acc = new Accumulator();
+            for (int i = from; i < to; i++) {
+                MedicalRecord m = records.get(i);
+                acc.add(m.getAge(), m.getHeight(), m.getWeight(), m.getBloodType().ordinal());
+            }
+            return acc;
+        }
+    }
+}
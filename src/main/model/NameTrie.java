@@ -0,0 +1,232 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// This class represents a case-insensitive prefix index over names, stored as a radix tree: each edge is labelled
+// with a run of characters rather than a single one, so a name costs at most one new node and one split.
+// Values are returned in alphabetical order of their names, and a top-k search stops as soon as k values are found.
+// All methods are synchronized so that searches can run off the Swing event thread while the list is being edited.
+class NameTrie<E> {
+    private final Node<E> root = new Node<>("");
+
+    // A node of the tree, with the label of the edge leading to it, its children sorted by the first character of
+    // their labels, and the values whose names end at this node.
+    private static final class Node<E> {
+        private String label;
+        private Node<E>[] children;
+        private int childCount;
+        private ArrayList<E> values;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        // EFFECTS: returns the position of the child whose label starts with c, or -(insertion point) - 1
+        int find(char c) {
+            int lo = 0;
+            int hi = childCount - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < c) {
+                    lo = mid + 1;
+                } else if (midChar > c) {
+                    hi = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(lo + 1);
+        }
+
+        // EFFECTS: returns the child whose label starts with c, or null if there is none
+        Node<E> child(char c) {
+            int i = find(c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: inserts child in sorted position
+        @SuppressWarnings("unchecked")
+        void addChild(Node<E> child) {
+            int i = -(find(child.label.charAt(0)) + 1);
+            if (children == null) {
+                children = (Node<E>[]) new Node<?>[2];
+            } else if (childCount == children.length) {
+                Node<E>[] grown = (Node<E>[]) new Node<?>[childCount * 2];
+                System.arraycopy(children, 0, grown, 0, childCount);
+                children = grown;
+            }
+            System.arraycopy(children, i, children, i + 1, childCount - i);
+            children[i] = child;
+            childCount++;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: removes the child at position i
+        void removeChild(int i) {
+            System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        boolean hasValues() {
+            return values != null && !values.isEmpty();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds value under the given name
+    public synchronized void add(String name, E value) {
+        String key = normalize(name);
+        Node<E> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node<E> child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node<>(key.substring(i));
+                node.addChild(child);
+                node = child;
+                break;
+            }
+            int common = commonPrefix(child.label, key, i);
+            if (common < child.label.length()) {
+                child = split(node, child, common);
+            }
+            node = child;
+            i += common;
+        }
+        if (node.values == null) {
+            node.values = new ArrayList<>(1);
+        }
+        node.values.add(value);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes value from under the given name, if it is there, and prunes nodes that are no longer needed
+    public synchronized void remove(String name, E value) {
+        String key = normalize(name);
+        List<Node<E>> path = new ArrayList<>();
+        Node<E> node = root;
+        int i = 0;
+        while (i < key.length()) {
+            path.add(node);
+            node = node.child(key.charAt(i));
+            if (node == null || !key.startsWith(node.label, i)) {
+                return;
+            }
+            i += node.label.length();
+        }
+        if (node.values == null || !removeIdentity(node.values, value) || node == root) {
+            return;
+        }
+        prune(path, node);
+    }
+
+    // EFFECTS: returns up to k values whose names start with prefix, ignoring case, in alphabetical order of name
+    public synchronized List<E> search(String prefix, int k) {
+        List<E> found = new ArrayList<>(Math.min(k, 64));
+        Node<E> node = locate(normalize(prefix));
+        if (node != null && k > 0) {
+            collect(node, k, found);
+        }
+        return found;
+    }
+
+    // EFFECTS: returns the node at or just below the end of prefix, or null if no name starts with prefix
+    private Node<E> locate(String prefix) {
+        Node<E> node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            node = node.child(prefix.charAt(i));
+            if (node == null) {
+                return null;
+            }
+            int n = Math.min(node.label.length(), prefix.length() - i);
+            if (!node.label.regionMatches(0, prefix, i, n)) {
+                return null;
+            }
+            i += n;
+        }
+        return node;
+    }
+
+    // MODIFIES: found
+    // EFFECTS: adds the values under node to found in alphabetical order, until found holds k values;
+    //          returns true once found is full
+    private boolean collect(Node<E> node, int k, List<E> found) {
+        if (node.values != null) {
+            for (E value : node.values) {
+                found.add(value);
+                if (found.size() == k) {
+                    return true;
+                }
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            if (collect(node.children[i], k, found)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // MODIFIES: parent, child
+    // EFFECTS: splits the edge to child after its first common characters, and returns the new middle node
+    private Node<E> split(Node<E> parent, Node<E> child, int common) {
+        Node<E> middle = new Node<>(child.label.substring(0, common));
+        parent.children[parent.find(child.label.charAt(0))] = middle;
+        child.label = child.label.substring(common);
+        middle.addChild(child);
+        return middle;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes node if it holds nothing, and merges any node left with a single child and no values into
+    //          that child; path holds the ancestors of node, starting at the root
+    private void prune(List<Node<E>> path, Node<E> node) {
+        Node<E> parent = path.get(path.size() - 1);
+        if (!node.hasValues() && node.childCount == 0) {
+            parent.removeChild(parent.find(node.label.charAt(0)));
+            node = parent;
+            if (path.size() == 1) {
+                return;
+            }
+            parent = path.get(path.size() - 2);
+        }
+        if (node != root && !node.hasValues() && node.childCount == 1) {
+            Node<E> only = node.children[0];
+            only.label = node.label + only.label;
+            parent.children[parent.find(node.label.charAt(0))] = only;
+        }
+    }
+
+    // EFFECTS: returns the number of characters label shares with key from position start
+    private static int commonPrefix(String label, String key, int start) {
+        int n = Math.min(label.length(), key.length() - start);
+        int i = 0;
+        while (i < n && label.charAt(i) == key.charAt(start + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    // MODIFIES: values
+    // EFFECTS: removes value itself (not an equal value) from values, and returns true if it was there
+    private static <E> boolean removeIdentity(List<E> values, E value) {
+        for (int i = 0; i < values.size(); i++) {
+            if (values.get(i) == value) {
+                values.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: returns name in the case-insensitive form used as a key
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -11,21 +11,37 @@ public class Patient implements Writable {
     private String name;
     private int id;
 
+    // The list this patient is checked in to, and the slot it occupies there; kept so that the list's indexes can
+    // follow changes to the name and ID of the patient.
+    PatientList owner;
+    int slot = -1;
+
     // constructor
-    // EFFECTS: constructs a patient with given name
-    //          default value of id is 0
-    public Patient(String name, Integer id) {
+    // EFFECTS: constructs a patient with given name and id
+    public Patient(String name, int id) {
         this.name = name;
         this.id = id;
     }
 
     // Setter and Getter methods
+    // MODIFIES: this, owner
+    // EFFECTS: sets the name of the patient, and re-indexes the patient in the list it is checked in to
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        if (owner != null) {
+            owner.nameChanged(this, oldName);
+        }
     }
 
+    // MODIFIES: this, owner
+    // EFFECTS: sets the ID of the patient, and re-indexes the patient in the list it is checked in to
     public void setId(int id) {
+        int oldId = this.id;
         this.id = id;
+        if (owner != null) {
+            owner.idChanged(this, oldId);
+        }
     }
 
     public String getName() {
@@ -0,0 +1,192 @@
+package model;
+
+import java.util.Arrays;
+
+// This class represents a map from patient ID numbers to patients.
+// IDs are stored as primitive ints in an open-addressing table with linear probing, so that no Integer boxes or
+// entry nodes are allocated per patient. Removed entries are closed up by shifting later entries of the same probe
+// run backwards, so the table never fills up with tombstones.
+public class PatientIdMap {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private int[] keys;
+    private Patient[] values;
+    private int size;
+    private int mask;
+
+    // constructor
+    // EFFECTS: constructs an empty map
+    public PatientIdMap() {
+        this(DEFAULT_CAPACITY / 2);
+    }
+
+    // constructor
+    // REQUIRES: expectedSize >= 0
+    // EFFECTS: constructs an empty map that can hold expectedSize patients without resizing
+    public PatientIdMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    // EFFECTS: returns the number of patients in the map
+    public int size() {
+        return size;
+    }
+
+    // EFFECTS: returns the patient with the given id, or null if there is none
+    public Patient get(int id) {
+        int i = indexOf(id);
+        return values[i];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: maps id to p, and returns the patient previously mapped to id, or null if there was none
+    public Patient put(int id, Patient p) {
+        int i = indexOf(id);
+        Patient previous = values[i];
+        if (previous == null) {
+            if (size + 1 > values.length / 2) {
+                resize(values.length * 2);
+                i = indexOf(id);
+            }
+            keys[i] = id;
+            size++;
+        }
+        values[i] = p;
+        return previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the mapping for id, and returns the patient it was mapped to, or null if there was none
+    public Patient remove(int id) {
+        int i = indexOf(id);
+        Patient previous = values[i];
+        if (previous != null) {
+            delete(i);
+        }
+        return previous;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes the mapping for id only if it is mapped to p, and returns true if it was removed
+    public boolean remove(int id, Patient p) {
+        int i = indexOf(id);
+        if (p == null || values[i] != p) {
+            return false;
+        }
+        delete(i);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes sure the map can hold n patients in total without resizing
+    public void ensureCapacity(int n) {
+        int needed = tableSizeFor(n);
+        if (needed > values.length) {
+            resize(needed);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes all mappings
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Iteration without allocation: walk the slots of the table with
+    //     for (int s = map.nextSlot(0); s >= 0; s = map.nextSlot(s + 1)) { ... map.keyAt(s) ... map.valueAt(s) ... }
+    // The map must not be modified during the walk.
+
+    // EFFECTS: returns the first occupied slot at or after from, or -1 if there is none
+    public int nextSlot(int from) {
+        for (int i = from; i < values.length; i++) {
+            if (values[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // REQUIRES: slot was returned by nextSlot
+    // EFFECTS: returns the ID stored in slot
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    // REQUIRES: slot was returned by nextSlot
+    // EFFECTS: returns the patient stored in slot
+    public Patient valueAt(int slot) {
+        return values[slot];
+    }
+
+    // EFFECTS: returns the slot holding id, or the empty slot where id would be inserted
+    private int indexOf(int id) {
+        int i = hash(id);
+        while (values[i] != null && keys[i] != id) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    // EFFECTS: returns the home slot of id
+    private int hash(int id) {
+        int h = id * GOLDEN_RATIO;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: empties slot i, then shifts back any later entry of the probe run that would otherwise become
+    //          unreachable
+    private void delete(int i) {
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == null) {
+                break;
+            }
+            int home = hash(keys[j]);
+            // the entry at j may move into the hole only if its home slot is not cyclically within (hole, j]
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = null;
+        size--;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves every entry into a new table of the given capacity
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Patient[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int j = indexOf(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the table with an empty one of the given capacity
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Patient[capacity];
+        mask = capacity - 1;
+    }
+
+    // EFFECTS: returns the smallest power of two table size that keeps n entries at most half full
+    private static int tableSizeFor(int n) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity / 2 < n) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+}
@@ -5,53 +5,151 @@ import org.json.JSONArray;
 import org.json.JSONObject;
 import persistence.Writable;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 
 // This class represents a list of patients.
 // This class references code from the JSonSerializationDemo project.
 // This code references the AlarmSystem code given by the course.
+// Patients are kept in insertion order, and are also indexed by name and by ID so that they can be found and
+// checked out in constant time, and by case-insensitive name prefix for type-ahead search.
 public class PatientList implements Writable {
-    private ArrayList<Patient> patients;
+    private SlotList<Patient> patients;
+    private HashMap<String, Patient> patientsByName;
+    private PatientIdMap patientsById;
+    private NameTrie<Patient> namePrefixes;
 
     // constructor
     // EFFECTS: constructs an empty list of patients
     public PatientList() {
-        patients = new ArrayList<>();
+        patients = new SlotList<>(p -> p.slot, (p, slot) -> p.slot = slot);
+        patientsByName = new HashMap<>();
+        patientsById = new PatientIdMap();
+        namePrefixes = new NameTrie<>();
     }
 
     // get list of patients
-    // EFFECTS: returns a list of patients
+    // EFFECTS: returns a read-only list of patients, in the order they were checked in
     public List<Patient> getPatients() {
-        return this.patients;
+        return Collections.unmodifiableList(this.patients);
     }
 
     // add patient to list of patients
-    // EFFECTS: adds patient p to list of patients, and logs the event
+    // REQUIRES: p is not checked in to any other list of patients
+    // MODIFIES: this, p
+    // EFFECTS: adds patient p to list of patients, indexes it by name and ID, and logs the event
     public void addPatient(Patient p) {
-        patients.add(p);
-        EventLog.getInstance().logEvent(new Event("Patient has been added to list of patients."));
+        attach(p);
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.PATIENT, p.getId()));
+    }
+
+    // add many patients to list of patients at once
+    // REQUIRES: none of the patients are checked in to any list of patients
+    // MODIFIES: this, ps
+    // EFFECTS: adds all patients in ps to list of patients in order, growing the list and ID index only once, and
+    //          logs a single event with the number of patients added
+    public void addAll(Collection<Patient> ps) {
+        patients.ensureExtraCapacity(ps.size());
+        patientsById.ensureCapacity(patientsById.size() + ps.size());
+        for (Patient p : ps) {
+            attach(p);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.ADDED, EntityKind.PATIENT, Event.NO_ID,
+                ps.size()));
     }
 
     // remove patient from list of patients
     // REQUIRES: no duplicate names in list of patients
-    // MODIFIES: pl
-    // EFFECTS: removes patient p from list of patients, and logs the event
+    // MODIFIES: this
+    // EFFECTS: removes the patient with the given name from list of patients, and logs the event
     public void removePatient(String patientToRemove) throws EmptyListException {
+        checkNotEmpty();
+        Patient patient = patientsByName.get(patientToRemove);
+        if (patient != null) {
+            detach(patient);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.REMOVED, EntityKind.PATIENT,
+                patient == null ? Event.NO_ID : patient.getId()));
+    }
+
+    // remove patient from list of patients by ID
+    // REQUIRES: no duplicate IDs in list of patients
+    // MODIFIES: this
+    // EFFECTS: removes the patient with the given ID from list of patients, and logs the event
+    public void removeById(int id) throws EmptyListException {
+        checkNotEmpty();
+        Patient patient = patientsById.get(id);
+        if (patient != null) {
+            detach(patient);
+        }
+        EventLog.getInstance().logEvent(new Event(EventType.REMOVED, EntityKind.PATIENT,
+                patient == null ? Event.NO_ID : patient.getId()));
+    }
+
+    // find patient by name
+    // EFFECTS: returns the patient with the given name, or null if no such patient is checked in
+    public Patient findByName(String name) {
+        return patientsByName.get(name);
+    }
+
+    // search patients by name prefix
+    // EFFECTS: returns up to k patients whose names start with prefix, ignoring case, in alphabetical order of name;
+    //          safe to call from a thread other than the one editing the list
+    public List<Patient> searchByName(String prefix, int k) {
+        return namePrefixes.search(prefix, k);
+    }
+
+    // find patient by ID
+    // EFFECTS: returns the patient with the given ID, or null if no such patient is checked in
+    public Patient findById(int id) {
+        return patientsById.get(id);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves p to its new name in the name index; called by p when its name is set
+    void nameChanged(Patient p, String oldName) {
+        patientsByName.remove(oldName, p);
+        patientsByName.put(p.getName(), p);
+        namePrefixes.remove(oldName, p);
+        namePrefixes.add(p.getName(), p);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves p to its new ID in the ID index; called by p when its ID is set
+    void idChanged(Patient p, int oldId) {
+        patientsById.remove(oldId, p);
+        patientsById.put(p.getId(), p);
+    }
 
-        if (patients.size() != 0) {
-            for (Patient patient : patients) {
-                if (patient.getName().equals(patientToRemove)) {
-                    patients.remove(patient);
-                    break;
-                }
-            }
-            EventLog.getInstance().logEvent(new Event("Patient has been removed from list of patients."));
-        } else {
+    // EFFECTS: throws EmptyListException if there are no patients in the list
+    private void checkNotEmpty() throws EmptyListException {
+        if (patients.size() == 0) {
             throw new EmptyListException("The list is empty!");
         }
     }
 
+    // MODIFIES: this, p
+    // EFFECTS: adds p to the end of the list and to every index
+    private void attach(Patient p) {
+        patients.add(p);
+        p.owner = this;
+        patientsByName.put(p.getName(), p);
+        patientsById.put(p.getId(), p);
+        namePrefixes.add(p.getName(), p);
+    }
+
+    // MODIFIES: this, p
+    // EFFECTS: removes p from the list and from every index
+    private void detach(Patient p) {
+        patients.delete(p);
+        patientsByName.remove(p.getName(), p);
+        patientsById.remove(p.getId(), p);
+        namePrefixes.remove(p.getName(), p);
+        p.owner = null;
+    }
+
     // get length of list
     // EFFECTS: returns length of list of patients
     public int length() {
@@ -0,0 +1,110 @@
+package model;
+
+// This class represents an immutable list that is changed by making a new list sharing almost all of its structure with
+// the old one, so that every earlier version stays readable.
+// It is a bit-partitioned trie (an array mapped trie keyed by position): each node holds 32 children, and element i is
+// found by following successive 5-bit pieces of i from the root, so reads and changes cost O(log32 n). A change copies
+// only the nodes on the path to the element changed. A batch of changes can share an edit token: nodes created during
+// the batch carry the token and are changed in place rather than copied again, until the batch ends.
+class PersistentVector<E> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<Object> EMPTY = new PersistentVector<>(new Node(null), 0, 0);
+
+    private final Node root;
+    private final int size;
+    // the number of bits of a position used below the root
+    private final int shift;
+
+    // A node of the trie, holding children (or, at the bottom, elements), and the edit token of the batch that
+    // created it, if any.
+    private static final class Node {
+        private final Object edit;
+        private final Object[] array;
+
+        Node(Object edit) {
+            this(edit, new Object[WIDTH]);
+        }
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    private PersistentVector(Node root, int size, int shift) {
+        this.root = root;
+        this.size = size;
+        this.shift = shift;
+    }
+
+    // EFFECTS: returns the empty vector
+    @SuppressWarnings("unchecked")
+    static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    // EFFECTS: returns the number of elements
+    int size() {
+        return size;
+    }
+
+    // EFFECTS: returns element i; throws IndexOutOfBoundsException if there is no element i
+    @SuppressWarnings("unchecked")
+    E get(int i) {
+        checkIndex(i);
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(i >>> level) & MASK];
+        }
+        return (E) node.array[i & MASK];
+    }
+
+    // EFFECTS: returns a vector like this one but with element i set to value; nodes carrying the (non-null) token
+    //          edit are changed in place, and new nodes carry edit;
+    //          throws IndexOutOfBoundsException if there is no element i
+    PersistentVector<E> set(int i, E value, Object edit) {
+        checkIndex(i);
+        return new PersistentVector<>(set(root, shift, i, value, edit), size, shift);
+    }
+
+    // EFFECTS: returns a vector like this one with value added at the end; nodes carrying the (non-null) token edit
+    //          are changed in place, and new nodes carry edit
+    PersistentVector<E> append(E value, Object edit) {
+        Node top = root;
+        int levels = shift;
+        if (size == 1L << (shift + BITS)) {
+            top = new Node(edit);
+            top.array[0] = root;
+            levels += BITS;
+        }
+        return new PersistentVector<>(set(top, levels, size, value, edit), size + 1, levels);
+    }
+
+    // EFFECTS: returns a copy of the subtree at node (or a new subtree, if node is null) with position i set to value,
+    //          copying only the nodes that do not carry edit
+    private Node set(Node node, int level, int i, Object value, Object edit) {
+        Node changed;
+        if (node == null) {
+            changed = new Node(edit);
+        } else if (edit != null && node.edit == edit) {
+            changed = node;
+        } else {
+            changed = new Node(edit, node.array.clone());
+        }
+        if (level == 0) {
+            changed.array[i & MASK] = value;
+        } else {
+            int child = (i >>> level) & MASK;
+            changed.array[child] = set((Node) changed.array[child], level - BITS, i, value, edit);
+        }
+        return changed;
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + " of " + size);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package model;
+
+import java.util.HashMap;
+import java.util.List;
+
+// This class represents the availability of each doctor, kept beside the list of appointments.
+// Each day of a doctor's calendar is a bitset of 5-minute slots held in a long[], where a set bit means the doctor is
+// booked for at least part of that slot. Free time is found by scanning the bitsets a 64-slot word at a time, and days
+// that have no bitset yet are entirely free.
+public class SlotCalendar {
+    public static final int SLOT_MINUTES = 5;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    // how far ahead nextFreeSlot looks before giving up, in days
+    public static final int SEARCH_HORIZON_DAYS = 366;
+
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+    private static final long LAST_WORD_MASK = -1L >>> (WORDS_PER_DAY * 64 - SLOTS_PER_DAY);
+
+    private HashMap<Doctor, HashMap<Long, long[]>> calendars;
+
+    // constructor
+    // EFFECTS: constructs a calendar in which every doctor is free at all times
+    public SlotCalendar() {
+        calendars = new HashMap<>();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks doctor d as busy in every slot touched by the minutes [start, end)
+    void book(Doctor d, long start, long end) {
+        long last = slotOf(end - 1);
+        for (long slot = slotOf(start); slot <= last; slot++) {
+            long[] day = dayOf(d, Math.floorDiv(slot, SLOTS_PER_DAY), true);
+            int i = (int) Math.floorMod(slot, SLOTS_PER_DAY);
+            day[i >>> 6] |= 1L << i;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: marks doctor d as free in every slot touched by the minutes [start, end), except for slots still
+    //          partly taken by another appointment in schedule
+    void release(Doctor d, long start, long end, IntervalTree<Appointment> schedule) {
+        long first = slotOf(start);
+        long last = slotOf(end - 1);
+        for (long slot = first; slot <= last; slot++) {
+            long[] day = dayOf(d, Math.floorDiv(slot, SLOTS_PER_DAY), false);
+            if (day == null) {
+                continue;
+            }
+            boolean shared = (slot == first || slot == last) && schedule != null
+                    && schedule.findOverlap(slot * SLOT_MINUTES, (slot + 1) * SLOT_MINUTES) != null;
+            if (!shared) {
+                int i = (int) Math.floorMod(slot, SLOTS_PER_DAY);
+                day[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    // EFFECTS: returns the earliest minute (on a slot boundary, at or after from) at which doctor d is free for the
+    //          given number of minutes, or AppointmentTime.UNSCHEDULED if there is no such time within the horizon
+    public long nextFreeSlot(Doctor d, long from, int duration) {
+        long needed = (duration + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        long slot = Math.floorDiv(from + SLOT_MINUTES - 1, SLOT_MINUTES);
+        long horizon = slot + (long) SEARCH_HORIZON_DAYS * SLOTS_PER_DAY;
+        HashMap<Long, long[]> days = calendars.get(d);
+        while (slot < horizon) {
+            long start = nextMatching(days, slot, horizon, false);
+            if (start >= horizon) {
+                break;
+            }
+            long end = nextMatching(days, start, start + needed, true);
+            if (end - start >= needed) {
+                return start * SLOT_MINUTES;
+            }
+            slot = end;
+        }
+        return AppointmentTime.UNSCHEDULED;
+    }
+
+    // EFFECTS: returns the free slots of doctor d on the given epoch day, as a bitset where bit i is set if the doctor
+    //          is free for all of slot i
+    public long[] freeSlots(Doctor d, long epochDay) {
+        long[] free = new long[WORDS_PER_DAY];
+        orFree(free, d, epochDay);
+        return free;
+    }
+
+    // EFFECTS: returns the free slots of the department on the given epoch day, as a bitset where bit i is set if at
+    //          least one doctor of the department is free for all of slot i
+    public long[] freeSlots(List<Doctor> department, long epochDay) {
+        long[] free = new long[WORDS_PER_DAY];
+        for (Doctor d : department) {
+            orFree(free, d, epochDay);
+        }
+        return free;
+    }
+
+    // EFFECTS: returns the number of free slots in a bitset returned by freeSlots
+    public static int countFree(long[] free) {
+        int count = 0;
+        for (long word : free) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // MODIFIES: free
+    // EFFECTS: sets the bits of free for the slots in which doctor d is free on the given epoch day
+    private void orFree(long[] free, Doctor d, long epochDay) {
+        long[] day = dayOf(d, epochDay, false);
+        for (int w = 0; w < WORDS_PER_DAY; w++) {
+            long busy = day == null ? 0 : day[w];
+            free[w] |= ~busy & (w == WORDS_PER_DAY - 1 ? LAST_WORD_MASK : -1L);
+        }
+    }
+
+    // EFFECTS: returns the first slot in [from, limit) that is busy (if busy is true) or free (if busy is false),
+    //          or limit if there is none, scanning a word of the day bitsets at a time
+    private long nextMatching(HashMap<Long, long[]> days, long from, long limit, boolean busy) {
+        long slot = from;
+        while (slot < limit) {
+            long dayNumber = Math.floorDiv(slot, SLOTS_PER_DAY);
+            long[] day = days == null ? null : days.get(dayNumber);
+            int i = (int) (slot - dayNumber * SLOTS_PER_DAY);
+            if (day == null) {
+                if (!busy) {
+                    return slot;
+                }
+                slot += SLOTS_PER_DAY - i;
+                continue;
+            }
+            int found = scanDay(day, i, busy);
+            if (found < SLOTS_PER_DAY) {
+                return Math.min(dayNumber * SLOTS_PER_DAY + found, limit);
+            }
+            slot = (dayNumber + 1) * SLOTS_PER_DAY;
+        }
+        return limit;
+    }
+
+    // EFFECTS: returns the first slot at or after i in day that is busy (if busy is true) or free (if busy is false),
+    //          or SLOTS_PER_DAY if there is none
+    private static int scanDay(long[] day, int i, boolean busy) {
+        int w = i >>> 6;
+        long word = (busy ? day[w] : ~day[w]) & (-1L << i);
+        while (true) {
+            if (word != 0) {
+                return Math.min(w * 64 + Long.numberOfTrailingZeros(word), SLOTS_PER_DAY);
+            }
+            w++;
+            if (w == WORDS_PER_DAY) {
+                return SLOTS_PER_DAY;
+            }
+            word = busy ? day[w] : ~day[w];
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the bitset of doctor d for the given epoch day; creates it if create is true and there is none,
+    //          otherwise returns null if there is none
+    private long[] dayOf(Doctor d, long epochDay, boolean create) {
+        HashMap<Long, long[]> days = calendars.get(d);
+        if (days == null && create) {
+            days = new HashMap<>();
+            calendars.put(d, days);
+        }
+        if (days == null) {
+            return null;
+        }
+        long[] day = days.get(epochDay);
+        if (day == null && create) {
+            day = new long[WORDS_PER_DAY];
+            days.put(epochDay, day);
+        }
+        return day;
+    }
+
+    // EFFECTS: returns the slot containing the given epoch minute
+    private static long slotOf(long minute) {
+        return Math.floorDiv(minute, SLOT_MINUTES);
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+// This class represents an insertion-ordered list that remembers the slot each element lives in, so that an element
+// can be removed in O(1) amortized time. Removed slots are left empty and compacted away lazily.
+// Used by the lists of the program whose elements are looked up through hash indexes.
+class SlotList<E> extends AbstractList<E> {
+    private ArrayList<E> elements;
+    private int holes;
+    private final ToIntFunction<E> slotOf;
+    private final ObjIntConsumer<E> setSlot;
+
+    // constructor
+    // EFFECTS: constructs an empty slot list that reads and writes the slot of an element through the given functions
+    SlotList(ToIntFunction<E> slotOf, ObjIntConsumer<E> setSlot) {
+        this.elements = new ArrayList<>();
+        this.slotOf = slotOf;
+        this.setSlot = setSlot;
+    }
+
+    // MODIFIES: this, e
+    // EFFECTS: appends e to the end of the list and records its slot
+    @Override
+    public boolean add(E e) {
+        setSlot.accept(e, elements.size());
+        return elements.add(e);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes sure the list can hold n more elements without growing
+    void ensureExtraCapacity(int n) {
+        elements.ensureCapacity(elements.size() + n);
+    }
+
+    // REQUIRES: e is in this list
+    // MODIFIES: this, e
+    // EFFECTS: removes e from its slot, and compacts the list once half of its slots are empty
+    void delete(E e) {
+        int slot = slotOf.applyAsInt(e);
+        elements.set(slot, null);
+        setSlot.accept(e, -1);
+        holes++;
+        if (holes > elements.size() / 2) {
+            compact();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes all elements from the list
+    @Override
+    public void clear() {
+        elements.clear();
+        holes = 0;
+    }
+
+    // EFFECTS: returns the element at position index, ignoring removed slots
+    @Override
+    public E get(int index) {
+        compact();
+        return elements.get(index);
+    }
+
+    // EFFECTS: returns the number of elements in the list
+    @Override
+    public int size() {
+        return elements.size() - holes;
+    }
+
+    // EFFECTS: returns true if o is in this list; elements are compared by their slot rather than by scanning
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+        try {
+            int slot = slotOf.applyAsInt((E) o);
+            return slot >= 0 && slot < elements.size() && elements.get(slot) == o;
+        } catch (ClassCastException e) {
+            return false;
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes up empty slots, keeping insertion order, and updates the slot of every moved element
+    private void compact() {
+        if (holes == 0) {
+            return;
+        }
+        int next = 0;
+        for (int i = 0; i < elements.size(); i++) {
+            E e = elements.get(i);
+            if (e != null) {
+                elements.set(next, e);
+                setSlot.accept(e, next);
+                next++;
+            }
+        }
+        elements.subList(next, elements.size()).clear();
+        holes = 0;
+    }
+}
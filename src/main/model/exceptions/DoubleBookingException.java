@@ -0,0 +1,13 @@
+package model.exceptions;
+
+// This class represents an exception that can be thrown by the AppointmentList class.
+public class DoubleBookingException extends Exception {
+
+    // constructor
+    // The exception is thrown when an appointment would overlap another appointment with the same doctor.
+    // EFFECTS: constructs an exception with given message
+    public DoubleBookingException(String msg) {
+        super(msg);
+    }
+
+}
@@ -0,0 +1,194 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import model.EventLogListener;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// This class represents an appender that saves every event logged to an event log to disk, so the audit trail
+// survives a crash.
+// Logged events are put on a lock-free queue, so the threads logging them never wait for the disk. A background thread
+// takes everything on the queue every commit interval and appends it, as lines of JSON, to the current segment file in
+// a directory, then forces the batch to disk with a single fsync (a group commit). Segment files are only ever appended
+// to; once one reaches its size limit, the next batch goes to a new one. Segments are named so that they sort in the
+// order they were written, and an EventLogReader reads them back. A batch that cannot be written is kept and written
+// again, ahead of the next one, at the next commit.
+public class EventLogAppender implements EventLogListener {
+    static final String SEGMENT_PREFIX = "events-";
+    static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long commitIntervalMillis;
+    private final long segmentBytes;
+    private final ConcurrentLinkedQueue<Event> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final StringBuilder unwritten = new StringBuilder();
+    private EventLog log;
+    private ScheduledExecutorService committer;
+    private FileChannel segment;
+    private int segmentNumber;
+    private boolean torn;
+
+    // EFFECTS: constructs an appender writing segments of about segmentBytes bytes to directory, committing every
+    //          commitIntervalMillis milliseconds
+    public EventLogAppender(Path directory, long commitIntervalMillis, long segmentBytes) {
+        this.directory = directory;
+        this.commitIntervalMillis = commitIntervalMillis;
+        this.segmentBytes = segmentBytes;
+    }
+
+    // MODIFIES: this, log
+    // EFFECTS: creates the directory if needed, starts a new segment after any already in it, and starts saving every
+    //          event logged to log from now on; throws IOException if the directory or segment cannot be created
+    public synchronized void start(EventLog log) throws IOException {
+        Files.createDirectories(directory);
+        segmentNumber = EventLogReader.lastSegmentNumber(directory);
+        openNextSegment();
+        this.log = log;
+        committer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "event-log-appender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        committer.scheduleWithFixedDelay(this::commit, commitIntervalMillis, commitIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        log.addListener(this);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues e to be saved at the next commit; never blocks
+    @Override
+    public void eventLogged(Event e) {
+        pending.offer(e);
+    }
+
+    // EFFECTS: returns the number of batches that could not be written to disk
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    // MODIFIES: this, log
+    // EFFECTS: stops listening to the log, commits every event still queued, and closes the segment; throws
+    //          IOException if some events could not be written. The background thread is stopped before this appender
+    //          is locked, so a commit it is running finishes instead of waiting for close
+    public void close() throws IOException {
+        ScheduledExecutorService stopping = stopListening();
+        if (stopping == null) {
+            return;
+        }
+        stopping.shutdown();
+        try {
+            stopping.awaitTermination(commitIntervalMillis + 1000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                commit();
+                if (unwritten.length() > 0) {
+                    throw new IOException("Some events could not be saved to " + directory);
+                }
+            } finally {
+                if (segment.isOpen()) {
+                    segment.close();
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this, log
+    // EFFECTS: stops listening to the log and returns the background thread's executor, or returns null if this
+    //          appender is not started
+    private synchronized ScheduledExecutorService stopListening() {
+        if (log == null) {
+            return null;
+        }
+        log.removeListener(this);
+        log = null;
+        return committer;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends every queued event, after those of a batch that could not be written before, to the current
+    //          segment and forces it to disk, then moves on to a new segment if the current one is full. If the batch
+    //          cannot be written it is counted as failed and kept to be written again at the next commit; whatever
+    //          part of it was written is cut off the segment, or ended with a line break if that fails too, so it
+    //          never runs into the next batch
+    private synchronized void commit() {
+        if (pending.isEmpty() && unwritten.length() == 0) {
+            return;
+        }
+        for (Event e = pending.poll(); e != null; e = pending.poll()) {
+            unwritten.append(e.toJson().toString()).append('\n');
+        }
+        long start = -1;
+        try {
+            if (!segment.isOpen()) {
+                openNextSegment();
+            }
+            start = segment.size();
+            ByteBuffer bytes = ByteBuffer.wrap(((torn ? "\n" : "") + unwritten).getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                segment.write(bytes);
+            }
+            segment.force(false);
+            unwritten.setLength(0);
+            torn = false;
+        } catch (IOException e) {
+            failedBatches.incrementAndGet();
+            torn = torn || !truncate(start);
+            return;
+        }
+        moveOnIfFull();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the current segment and opens the next one if it has reached its size limit; if the next one
+    //          cannot be opened, the next commit tries again
+    private void moveOnIfFull() {
+        try {
+            if (segment.size() >= segmentBytes) {
+                segment.close();
+                openNextSegment();
+            }
+        } catch (IOException e) {
+            // the segment stays closed until the next commit opens a new one
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: cuts the current segment back to size bytes and returns true, or returns false if it cannot be cut or
+    //          size is not known
+    private boolean truncate(long size) {
+        try {
+            if (size >= 0 && segment.isOpen()) {
+                segment.truncate(size);
+                return true;
+            }
+        } catch (IOException e) {
+            // the segment is left as it is, and the next batch starts on a new line
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: creates the next segment file and makes it the current segment, which starts on a new line
+    private void openNextSegment() throws IOException {
+        segmentNumber++;
+        segment = FileChannel.open(directory.resolve(EventLogReader.segmentName(segmentNumber)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        torn = false;
+    }
+}
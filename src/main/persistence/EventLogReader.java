@@ -0,0 +1,88 @@
+package persistence;
+
+import model.EntityKind;
+import model.Event;
+import model.EventType;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+// This class represents a reader that replays the events saved by an EventLogAppender, segment by segment in the
+// order they were written. A line cut short by a crash (the end of the last batch that was not yet on disk) is
+// skipped.
+public class EventLogReader {
+    private static final String SEGMENT_FORMAT = EventLogAppender.SEGMENT_PREFIX + "%06d"
+            + EventLogAppender.SEGMENT_SUFFIX;
+
+    private Path directory;
+
+    // EFFECTS: constructs reader to read the segments in directory
+    public EventLogReader(Path directory) {
+        this.directory = directory;
+    }
+
+    // EFFECTS: reads every event saved in the directory and returns them in the order they were saved; returns no
+    //          events if there is no such directory; throws IOException if an error occurs reading a segment
+    public List<Event> read() throws IOException {
+        List<Event> events = new ArrayList<>();
+        for (Path segment : segments(directory).values()) {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                Event e = parseEvent(line);
+                if (e != null) {
+                    events.add(e);
+                }
+            }
+        }
+        return events;
+    }
+
+    // EFFECTS: returns the name of the segment with the given number
+    static String segmentName(int number) {
+        return String.format(SEGMENT_FORMAT, number);
+    }
+
+    // EFFECTS: returns the number of the last segment in directory, or 0 if there is none
+    static int lastSegmentNumber(Path directory) throws IOException {
+        TreeMap<Integer, Path> segments = segments(directory);
+        return segments.isEmpty() ? 0 : segments.lastKey();
+    }
+
+    // EFFECTS: returns the segments in directory by number; throws IOException if the directory cannot be listed
+    private static TreeMap<Integer, Path> segments(Path directory) throws IOException {
+        TreeMap<Integer, Path> segments = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                EventLogAppender.SEGMENT_PREFIX + "*" + EventLogAppender.SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String number = name.substring(EventLogAppender.SEGMENT_PREFIX.length(),
+                        name.length() - EventLogAppender.SEGMENT_SUFFIX.length());
+                if (number.matches("\\d+")) {
+                    segments.put(Integer.parseInt(number), file);
+                }
+            }
+        }
+        return segments;
+    }
+
+    // EFFECTS: parses an event from a line of JSON, or returns null if the line is not a whole event
+    private static Event parseEvent(String line) {
+        try {
+            JSONObject json = new JSONObject(line);
+            return new Event(EventType.valueOf(json.getString("type")), EntityKind.valueOf(json.getString("kind")),
+                    json.getLong("id"), json.getInt("count"), json.optString("text", null), json.getLong("date"));
+        } catch (JSONException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
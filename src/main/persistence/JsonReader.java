@@ -1,18 +1,30 @@
 package persistence;
 
 import model.*;
-import org.json.JSONArray;
+import model.exceptions.DoubleBookingException;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.stream.Stream;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 // This class references code from the JSonSerialization demo project given by the course.
 // This class represents a reader that takes a JSon object and converts it to a medical record.
+// Files are read as a stream through a buffered channel: each element of the list in the file is parsed on its own and
+// turned into an entity straight away, so the memory needed is that of the entities read, not of the whole file.
 public class JsonReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private String source;
 
     // EFFECTS: constructs reader to read from source file
@@ -23,93 +35,124 @@ public class JsonReader {
     // EFFECTS: reads list of medical records from file and returns it;
     // throws IOException if an error occurs reading data from file
     public MedicalRecordList readMedicalRecordList() throws IOException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parseMedicalRecordList(jsonObject);
+        return readMedicalRecordList(false);
     }
 
-    // EFFECTS: reads list of patients from file and returns it;
+    // EFFECTS: reads list of medical records from file and returns it, stored column by column if columnar is true;
     // throws IOException if an error occurs reading data from file
-    public PatientList readPatientList() throws IOException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parsePatientList(jsonObject);
+    public MedicalRecordList readMedicalRecordList(boolean columnar) throws IOException {
+        List<MedicalRecord> medicalRecords = new ArrayList<>();
+        readArray("medical records", json -> addMedicalRecord(medicalRecords, json));
+        MedicalRecordList ml = new MedicalRecordList(columnar);
+        ml.addAll(medicalRecords);
+        return ml;
     }
 
-    // EFFECTS: reads list of appointments from file and returns it;
+    // EFFECTS: reads list of patients from file and returns it;
     // throws IOException if an error occurs reading data from file
-    public AppointmentList readAppointmentList() throws IOException {
-        String jsonData = readFile(source);
-        JSONObject jsonObject = new JSONObject(jsonData);
-        return parseAppointmentList(jsonObject);
-    }
-
-    // EFFECTS: reads source file as string and returns it
-    private String readFile(String source) throws IOException {
-        StringBuilder contentBuilder = new StringBuilder();
-
-        try (Stream<String> stream = Files.lines(Paths.get(source), StandardCharsets.UTF_8)) {
-            stream.forEach(s -> contentBuilder.append(s));
-        }
-
-        return contentBuilder.toString();
+    public PatientList readPatientList() throws IOException {
+        List<Patient> patients = new ArrayList<>();
+        readArray("patients", json -> addPatient(patients, json));
+        PatientList pl = new PatientList();
+        pl.addAll(patients);
+        return pl;
     }
 
-    // EFFECTS: parses list of medical records from JSON object and returns it
-    private MedicalRecordList parseMedicalRecordList(JSONObject jsonObject) {
-        MedicalRecordList ml = new MedicalRecordList();
-        addMedicalRecords(ml, jsonObject);
-        return ml;
+    // EFFECTS: reads list of doctors (the doctor directory) from file and returns it;
+    // throws IOException if an error occurs reading data from file
+    public DoctorList readDoctorList() throws IOException {
+        List<Doctor> doctors = new ArrayList<>();
+        readArray("doctors", json -> doctors.add(new Doctor(json.getString("name"), json.getString("department"))));
+        DoctorList dl = new DoctorList();
+        dl.addAll(doctors);
+        return dl;
     }
 
-    // EFFECTS: parses list of patients from JSON object and returns it
-    private PatientList parsePatientList(JSONObject jsonObject) {
-        PatientList pl = new PatientList();
-        addPatients(pl, jsonObject);
-        return pl;
+    // EFFECTS: reads list of appointments from file and returns it;
+    // throws IOException if an error occurs reading data from file
+    public AppointmentList readAppointmentList() throws IOException {
+        return readAppointmentList(new DoctorList());
     }
 
-    // EFFECTS: parses list of appointments from JSON object and returns it
-    private AppointmentList parseAppointmentList(JSONObject jsonObject) {
+    // MODIFIES: dl
+    // EFFECTS: reads list of appointments from file and returns it, booking them with the doctors of dl by name
+    // (doctors not in dl are added to it); throws IOException if an error occurs reading data from file, or if the
+    // file books a doctor for two overlapping appointments
+    public AppointmentList readAppointmentList(DoctorList dl) throws IOException {
+        List<Appointment> appointments = new ArrayList<>();
+        readArray("appointments", json -> addAppointment(appointments, json, dl));
         AppointmentList al = new AppointmentList();
-        addAppointments(al, jsonObject);
+        try {
+            al.addAll(appointments);
+        } catch (DoubleBookingException e) {
+            throw new IOException(e.getMessage(), e);
+        }
         return al;
     }
 
-    // MODIFIES: ml
-    // EFFECTS: parses medical records from JSON object and adds them to medical record list
-    private void addMedicalRecords(MedicalRecordList ml, JSONObject jsonObject) {
-        JSONArray jsonArray = jsonObject.getJSONArray("medical records");
-        for (Object json : jsonArray) {
-            JSONObject nextMedicalRecord = (JSONObject) json;
-            addMedicalRecord(ml, nextMedicalRecord);
+    // EFFECTS: reads the source file, a JSON object, as a stream, and passes each element of the array under key to
+    // each as it is read, without reading the whole file into memory; the other values of the object are skipped.
+    // Throws IOException if an error occurs reading data from file, and JSONException if the file is not a JSON object
+    // with an array under key
+    private void readArray(String key, Consumer<JSONObject> each) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ);
+             Reader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), -1),
+                     BUFFER_SIZE)) {
+            JSONTokener tokener = new JSONTokener(reader);
+            expect(tokener, '{');
+            char c = tokener.nextClean();
+            while (c != '}') {
+                tokener.back();
+                String name = tokener.nextValue().toString();
+                expect(tokener, ':');
+                if (name.equals(key)) {
+                    readElements(tokener, each);
+                    return;
+                }
+                tokener.nextValue();
+                c = next(tokener, '}');
+            }
+            throw new JSONException("JSONObject[\"" + key + "\"] not found.");
         }
     }
 
-    // MODIFIES: pl
-    // EFFECTS: parses patients from JSON object and adds them to patient list
-    private void addPatients(PatientList pl, JSONObject jsonObject) {
-        JSONArray jsonArray = jsonObject.getJSONArray("patients");
-        for (Object json : jsonArray) {
-            JSONObject nextPatient = (JSONObject) json;
-            addPatient(pl, nextPatient);
+    // EFFECTS: reads a JSON array of objects from tokener one element at a time, passing each to each
+    private void readElements(JSONTokener tokener, Consumer<JSONObject> each) {
+        expect(tokener, '[');
+        char c = tokener.nextClean();
+        while (c != ']') {
+            tokener.back();
+            Object element = tokener.nextValue();
+            if (!(element instanceof JSONObject)) {
+                throw tokener.syntaxError("Expected an object in the array");
+            }
+            each.accept((JSONObject) element);
+            c = next(tokener, ']');
         }
     }
 
-    // MODIFIES: al
-    // EFFECTS: parses appointments from JSON object and adds them to appointment list
-    private void addAppointments(AppointmentList al, JSONObject jsonObject) {
-        JSONArray jsonArray = jsonObject.getJSONArray("appointments");
-        for (Object json : jsonArray) {
-            JSONObject nextAppointment = (JSONObject) json;
-            addAppointment(al, nextAppointment);
+    // EFFECTS: reads the separator after a value from tokener, and returns the next character that is not white space
+    // if it was a comma, or end if the value was the last one; throws JSONException if it is neither
+    private static char next(JSONTokener tokener, char end) {
+        char c = tokener.nextClean();
+        if (c == ',') {
+            return tokener.nextClean();
+        } else if (c != end) {
+            throw tokener.syntaxError("Expected ',' or '" + end + "'");
         }
+        return end;
     }
 
+    // EFFECTS: reads the next character of tokener that is not white space; throws JSONException if it is not c
+    private static void expect(JSONTokener tokener, char c) {
+        if (tokener.nextClean() != c) {
+            throw tokener.syntaxError("Expected '" + c + "'");
+        }
+    }
 
-    // MODIFIES: ml
-    // EFFECTS: parses medical record from JSON object and adds it to list of medical records
-    private void addMedicalRecord(MedicalRecordList ml, JSONObject jsonObject) {
+    // MODIFIES: medicalRecords
+    // EFFECTS: parses medical record from JSON object and adds it to medicalRecords
+    private void addMedicalRecord(List<MedicalRecord> medicalRecords, JSONObject jsonObject) {
         String name = jsonObject.getString("name");
         int age = jsonObject.getInt("age");
         int height = jsonObject.getInt("height");
@@ -117,26 +160,45 @@ public class JsonReader {
         String bloodType = jsonObject.getString("blood type");
 
         MedicalRecord m = new MedicalRecord(name, age, height, weight, bloodType);
-        ml.addMedicalRecord(m);
+        medicalRecords.add(m);
     }
 
-    // MODIFIES: pl
-    // EFFECTS: parses patient from JSON object and adds it to list of patients
-    private void addPatient(PatientList pl, JSONObject jsonObject) {
+    // MODIFIES: patients
+    // EFFECTS: parses patient from JSON object and adds it to patients
+    private void addPatient(List<Patient> patients, JSONObject jsonObject) {
         String name = jsonObject.getString("name");
         int id = jsonObject.getInt("id");
 
         Patient p = new Patient(name, id);
-        pl.addPatient(p);
+        patients.add(p);
     }
 
-    // MODIFIES: al
-    // EFFECTS: parses appointment from JSON object and adds it to list of patients
-    private void addAppointment(AppointmentList al, JSONObject jsonObject) {
+    // MODIFIES: appointments, dl
+    // EFFECTS: parses appointment from JSON object and adds it to appointments, at the date and time its time was
+    // resolved to when it was written; files written before appointments had a doctor and duration get no doctor and
+    // the default duration, and those written before the resolved time was kept have their time parsed again
+    private void addAppointment(List<Appointment> appointments, JSONObject jsonObject, DoctorList dl) {
         String name = jsonObject.getString("name");
         String time = jsonObject.getString("time");
+        long start = AppointmentTime.parse(jsonObject.optString("start", time));
+        int duration = jsonObject.optInt("duration", Appointment.DEFAULT_DURATION);
+        Doctor doctor = null;
+        if (jsonObject.has("doctor")) {
+            doctor = findOrAddDoctor(dl, jsonObject.getString("doctor"), jsonObject.optString("department"));
+        }
 
-        Appointment a = new Appointment(name, time);
-        al.addAppointment(a);
+        Appointment a = new Appointment(name, time, start, doctor, duration);
+        appointments.add(a);
+    }
+
+    // MODIFIES: dl
+    // EFFECTS: returns the doctor of dl with the given name, adding a new doctor to dl if there is none
+    private Doctor findOrAddDoctor(DoctorList dl, String name, String department) {
+        Doctor doctor = dl.findByName(name);
+        if (doctor == null) {
+            doctor = new Doctor(name, department);
+            dl.addDoctor(doctor);
+        }
+        return doctor;
     }
 }
@@ -0,0 +1,173 @@
+package persistence;
+
+import model.AppointmentList;
+import model.DoctorList;
+import model.MedicalRecordList;
+import model.PatientList;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// This class represents the saved state of the application in a directory: the appointments, medical records,
+// patients and doctors, saved together as one numbered generation so that they are always read back as a set.
+// A save writes every list to new files named after the next generation, forces them all to disk, and only then
+// commits the generation by writing a manifest naming its files to a temporary file and atomically renaming it over
+// the old one. A crash before the rename leaves the last generation in place; the files of the generation that was
+// cut short are never read, and are overwritten by the next save. A directory without a manifest is generation 0,
+// whose files are the ones written before snapshots were saved (such as "patients.json").
+public class JsonSnapshot {
+    public static final String APPOINTMENTS = "appointments";
+    public static final String MEDICAL_RECORDS = "medicalrecords";
+    public static final String PATIENTS = "patients";
+    public static final String DOCTORS = "doctors";
+    static final String MANIFEST = "snapshot.json";
+    private static final String[] STORES = {APPOINTMENTS, MEDICAL_RECORDS, PATIENTS, DOCTORS};
+    private static final int TAB = 4;
+
+    private Path directory;
+    private boolean compact;
+
+    // EFFECTS: constructs a snapshot of the state saved in directory, written as indented JSON
+    public JsonSnapshot(String directory) {
+        this(directory, false);
+    }
+
+    // EFFECTS: constructs a snapshot of the state saved in directory, written as compact JSON if compact is true
+    public JsonSnapshot(String directory, boolean compact) {
+        this.directory = Paths.get(directory);
+        this.compact = compact;
+    }
+
+    // EFFECTS: returns the last generation saved; throws IOException if the manifest cannot be read
+    public Generation current() throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return new Generation(0, null);
+        }
+        JSONObject json = new JSONObject(new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8));
+        return new Generation(json.getLong("generation"), json.getJSONObject("files"));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves al, ml, pl and dl as the next generation, and returns its number; the last generation is kept
+    //          if anything fails. Throws IOException if a file cannot be written or forced to disk
+    public synchronized long save(AppointmentList al, MedicalRecordList ml, PatientList pl, DoctorList dl)
+            throws IOException {
+        long generation = current().getNumber() + 1;
+        JSONObject files = new JSONObject();
+        for (String store : STORES) {
+            files.put(store, fileName(store, generation));
+        }
+        write(files.getString(APPOINTMENTS), w -> w.writeAppointmentList(al));
+        write(files.getString(MEDICAL_RECORDS), w -> w.writeMedicalRecordList(ml));
+        write(files.getString(PATIENTS), w -> w.writePatientList(pl));
+        write(files.getString(DOCTORS), w -> w.writeDoctorList(dl));
+        for (String store : STORES) {
+            force(directory.resolve(files.getString(store)));
+        }
+        commit(new JSONObject().put("generation", generation).put("files", files));
+        deleteGeneration(generation - 2);
+        return generation;
+    }
+
+    // EFFECTS: returns the name of the file of store in the given generation
+    static String fileName(String store, long generation) {
+        return generation == 0 ? store + ".json" : store + "-" + generation + ".json";
+    }
+
+    // EFFECTS: writes content to the file with the given name; throws IOException if it cannot be written
+    private void write(String name, Consumer<JsonWriter> content) throws IOException {
+        JsonWriter writer = new JsonWriter(directory.resolve(name).toString(), compact);
+        writer.open();
+        try {
+            content.accept(writer);
+        } finally {
+            writer.close();
+        }
+        if (writer.hasFailed()) {
+            throw new IOException("Could not write " + name);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes manifest to a temporary file, forces it to disk and renames it over the manifest, then forces
+    //          the directory to disk where the platform allows it
+    private void commit(JSONObject manifest) throws IOException {
+        Path temporary = directory.resolve(MANIFEST + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap(manifest.toString(TAB).getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // some platforms cannot open a directory; the rename is still atomic there
+        }
+    }
+
+    // EFFECTS: forces the file to disk
+    private static void force(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: deletes the files of the given generation, if it is a saved one, and of any older generation an
+    //          earlier save could not delete; the generation before the last is kept so that a load that read the
+    //          manifest just before this save can still read its files. The save is already committed, so a file
+    //          that cannot be deleted does not fail it and is left for the next save to try again
+    private void deleteGeneration(long generation) {
+        for (long old = generation; old >= 1; old--) {
+            boolean found = false;
+            for (String store : STORES) {
+                try {
+                    found |= Files.deleteIfExists(directory.resolve(fileName(store, old)));
+                } catch (IOException e) {
+                    found = true;
+                }
+            }
+            if (!found) {
+                return;
+            }
+        }
+    }
+
+    // One generation of saved state, whose lists are read from the files named in its manifest.
+    public final class Generation {
+        private final long number;
+        private final JSONObject files;
+
+        private Generation(long number, JSONObject files) {
+            this.number = number;
+            this.files = files;
+        }
+
+        // EFFECTS: returns the number of this generation, or 0 if no snapshot has been saved
+        public long getNumber() {
+            return number;
+        }
+
+        // EFFECTS: returns a reader of the file of store (one of APPOINTMENTS, MEDICAL_RECORDS, PATIENTS and
+        //          DOCTORS) in this generation
+        public JsonReader reader(String store) {
+            String name = files == null ? fileName(store, 0) : files.getString(store);
+            return new JsonReader(directory.resolve(name).toString());
+        }
+    }
+}
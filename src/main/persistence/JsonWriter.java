@@ -1,62 +1,101 @@
 package persistence;
 
 import model.AppointmentList;
+import model.DoctorList;
 import model.MedicalRecordList;
 import model.PatientList;
 import org.json.JSONObject;
 
-import java.io.File;
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 
 // This class references code from the JSonSerialization demo project given by the course.
 // This class represents a writer that converts a medical record to a JSON file.
+// Lists are written as a stream: each entity in the list is converted to JSON on its own and written straight into a
+// buffered UTF-8 file, so the whole file is never held in memory. The file is indented for reading unless the writer
+// is compact.
 public class JsonWriter {
     private static final int TAB = 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final char[] INDENT = "    ".toCharArray();
+
     private PrintWriter writer;
     private String destination;
+    private int indentFactor;
 
     // MODIFIES: this
-    // EFFECTS: constructs writer to write to destination file
+    // EFFECTS: constructs writer to write indented JSON to destination file
     public JsonWriter(String destination) {
+        this(destination, false);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: constructs writer to write JSON to destination file, without indentation or line breaks if compact is
+    // true
+    public JsonWriter(String destination, boolean compact) {
         this.destination = destination;
+        this.indentFactor = compact ? 0 : TAB;
     }
 
     // MODIFIES: this
     // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
     // be opened for writing
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(destination));
+        writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(destination),
+                StandardCharsets.UTF_8), BUFFER_SIZE));
     }
 
     // EFFECTS: writes JSON representation of list of medical records to file
     public void writeMedicalRecordList(MedicalRecordList ml) {
-        JSONObject json = ml.toJson();
-        saveToFile(json.toString(TAB));
+        writeList("medical records", ml.getMedicalRecords());
     }
 
     // EFFECTS: writes JSON representation of list of medical records to file
     public void writePatientList(PatientList pl) {
-        JSONObject json = pl.toJson();
-        saveToFile(json.toString(TAB));
+        writeList("patients", pl.getPatients());
     }
 
     // EFFECTS: writes JSON representation of list of medical records to file
     public void writeAppointmentList(AppointmentList al) {
-        JSONObject json = al.toJson();
-        saveToFile(json.toString(TAB));
+        writeList("appointments", al.getAppointments());
+    }
+
+    // EFFECTS: writes JSON representation of list of doctors to file
+    public void writeDoctorList(DoctorList dl) {
+        writeList("doctors", dl.getDoctors());
     }
 
     // MODIFIES: this
-    // EFFECTS: closes writer
+    // EFFECTS: closes writer, writing out anything still buffered
     public void close() {
         writer.close();
     }
 
-    // MODIFIES: this
-    // EFFECTS: writes string to file
-    private void saveToFile(String json) {
-        writer.print(json);
+    // EFFECTS: returns true if an error occurred writing to the file
+    public boolean hasFailed() {
+        return writer.checkError();
     }
 
+    // MODIFIES: this
+    // EFFECTS: writes a JSON object holding items as an array under key, one item at a time
+    private void writeList(String key, Iterable<? extends Writable> items) {
+        writer.write("{" + JSONObject.quote(key) + (indentFactor > 0 ? ": [" : ":["));
+        boolean first = true;
+        for (Writable item : items) {
+            if (!first) {
+                writer.write(',');
+            }
+            if (indentFactor > 0) {
+                writer.write('\n');
+                writer.write(INDENT, 0, indentFactor);
+            }
+            item.toJson().write(writer, indentFactor, indentFactor);
+            first = false;
+        }
+        writer.write(!first && indentFactor > 0 ? "\n]}" : "]}");
+    }
 }
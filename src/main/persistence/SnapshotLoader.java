@@ -0,0 +1,123 @@
+package persistence;
+
+import model.AppointmentList;
+import model.DoctorList;
+import model.MedicalRecordList;
+import model.PatientList;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// This class represents a loader that reads the lists of one generation of a JsonSnapshot in parallel.
+// Each store is read by its own task on an executor, so loading takes about as long as the largest store rather than
+// all of them one after another; appointments are read once the doctors they are booked with have been. A store that
+// cannot be read does not stop the others: its failure is recorded and reported on its own.
+public class SnapshotLoader {
+    public static final int STORES = 4;
+
+    // A listener told as each store finishes loading.
+    public interface Listener {
+        // EFFECTS: called on a loading thread once store has been loaded, with failure null, or could not be loaded,
+        //          with failure the reason why
+        void storeLoaded(String store, Exception failure);
+    }
+
+    // A read of one store by a JsonReader.
+    private interface Read<T> {
+        T from(JsonReader reader) throws IOException;
+    }
+
+    private final JsonSnapshot.Generation generation;
+    private final Executor executor;
+    private final Map<String, Exception> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+    private AppointmentList appointmentList;
+    private MedicalRecordList medicalRecordList;
+    private PatientList patientList;
+    private DoctorList doctorList;
+
+    // EFFECTS: constructs a loader reading the stores of generation with tasks run by executor
+    public SnapshotLoader(JsonSnapshot.Generation generation, Executor executor) {
+        this.generation = generation;
+        this.executor = executor;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts reading every store, telling listener as each one finishes, and returns a future completed with
+    //          this loader once they all have
+    public CompletableFuture<SnapshotLoader> load(Listener listener) {
+        CompletableFuture<DoctorList> doctors = CompletableFuture.supplyAsync(
+                () -> read(JsonSnapshot.DOCTORS, JsonReader::readDoctorList, listener), executor);
+        CompletableFuture<MedicalRecordList> records = CompletableFuture.supplyAsync(
+                () -> read(JsonSnapshot.MEDICAL_RECORDS, reader -> reader.readMedicalRecordList(), listener), executor);
+        CompletableFuture<PatientList> patients = CompletableFuture.supplyAsync(
+                () -> read(JsonSnapshot.PATIENTS, JsonReader::readPatientList, listener), executor);
+        CompletableFuture<AppointmentList> appointments = doctors.thenApplyAsync(
+                dl -> read(JsonSnapshot.APPOINTMENTS, reader -> readAppointments(reader, dl), listener), executor);
+        return CompletableFuture.allOf(records, patients, appointments).thenApply(done -> {
+            doctorList = doctors.join();
+            appointmentList = appointments.join();
+            medicalRecordList = records.join();
+            patientList = patients.join();
+            return this;
+        });
+    }
+
+    // EFFECTS: returns the appointments loaded, or null if they could not be loaded
+    public AppointmentList getAppointmentList() {
+        return appointmentList;
+    }
+
+    // EFFECTS: returns the medical records loaded, or null if they could not be loaded
+    public MedicalRecordList getMedicalRecordList() {
+        return medicalRecordList;
+    }
+
+    // EFFECTS: returns the patients loaded, or null if they could not be loaded
+    public PatientList getPatientList() {
+        return patientList;
+    }
+
+    // EFFECTS: returns the doctors loaded, or null if they could not be loaded; the appointments loaded are booked
+    //          with these doctors
+    public DoctorList getDoctorList() {
+        return doctorList;
+    }
+
+    // EFFECTS: returns the reason each store that could not be loaded failed, in the order they failed
+    public Map<String, Exception> getFailures() {
+        synchronized (failures) {
+            return new LinkedHashMap<>(failures);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: reads store with read and returns it, or records why it could not be read (including a file that does
+    //          not hold a valid list, such as a medical record with an unknown blood type) and returns null; tells
+    //          listener either way
+    private <T> T read(String store, Read<T> read, Listener listener) {
+        Exception failure = null;
+        T result = null;
+        try {
+            result = read.from(generation.reader(store));
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            failures.put(store, e);
+        }
+        listener.storeLoaded(store, failure);
+        return result;
+    }
+
+    // MODIFIES: dl
+    // EFFECTS: reads the appointments booked with the doctors of dl; throws IOException if they cannot be read, or if
+    //          dl is null because the doctors could not be read
+    private static AppointmentList readAppointments(JsonReader reader, DoctorList dl) throws IOException {
+        if (dl == null) {
+            throw new IOException("The doctors the appointments are booked with could not be loaded");
+        }
+        return reader.readAppointmentList(dl);
+    }
+}
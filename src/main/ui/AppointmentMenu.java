@@ -2,6 +2,9 @@ package ui;
 
 import model.Appointment;
 import model.AppointmentList;
+import model.Doctor;
+import model.DoctorList;
+import model.exceptions.DoubleBookingException;
 import model.exceptions.EmptyListException;
 
 import javax.swing.*;
@@ -15,6 +18,7 @@ public class AppointmentMenu extends JFrame implements ActionListener {
 
     // initializing list of appointments to be used by the program
     protected AppointmentList al;
+    protected DoctorList dl;
 
     // GUI components for the appointments menu
     Container appointmentMenu = getContentPane();
@@ -32,6 +36,7 @@ public class AppointmentMenu extends JFrame implements ActionListener {
 
         // accessing list of appointments declared from main menu
         al = mm.al;
+        dl = mm.dl;
 
         this.setTitle("MyHospitalManager -- Appointments");
         this.setVisible(true);
@@ -77,21 +82,48 @@ public class AppointmentMenu extends JFrame implements ActionListener {
         return al;
     }
 
+    // MODIFIES: al
+    // EFFECTS: prompts the user to input the patient's name, booked time, and doctor, then constructs an appointment
+    // with the given values and adds it to the list of appointments. If no doctor is given, the user picks a department
+    // and the least busy doctor of that department who is free at that time is assigned. If the doctor is already
+    // booked at that time, or no doctor of the department is free, the appointment is not added and the user is told
+    // why.
+    public void bookAppointment() {
+        String inputAppointmentName = JOptionPane.showInputDialog("Patient Name: ");
+        String inputAppointmentTime = JOptionPane.showInputDialog("Booked Time (e.g. 2021-11-18 9:30 am): ");
+        String inputDoctorName = JOptionPane.showInputDialog("Doctor (leave blank to assign one): ");
+        Doctor doctor = dl.findByName(inputDoctorName);
+
+        Appointment appointment = new Appointment(inputAppointmentName, inputAppointmentTime, doctor,
+                Appointment.DEFAULT_DURATION);
+        Object department = doctor == null ? askDepartment() : null;
+        if (department != null) {
+            Doctor assigned = al.bookWithLeastLoaded(appointment, dl, department.toString());
+            JOptionPane.showMessageDialog(this, assigned == null ? "No doctor in " + department + " is free then."
+                    : "Booked with Dr. " + assigned.getDoctorName() + ".");
+            return;
+        }
+        try {
+            al.addAppointment(appointment);
+            JOptionPane.showMessageDialog(this, "Successful");
+        } catch (DoubleBookingException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage());
+        }
+    }
+
+    // EFFECTS: prompts the user to pick a department to assign a doctor from, and returns it, or null if none is picked
+    private Object askDepartment() {
+        return JOptionPane.showInputDialog(this, "Department (cancel for no doctor): ", "MyHospitalManager",
+                JOptionPane.QUESTION_MESSAGE, null, dl.getDepartments().toArray(), null);
+    }
+
     // EFFECTS: specifies action behavior for each listed action event
     @Override
     public void actionPerformed(ActionEvent e) {
 
         // make an appointment
-        // MODIFIES: al
-        // EFFECTS: prompts the user to input the patient's name and booked time, then constructs an appointment with
-        // the given name and time, and adds it to the list of appointments.
         if (e.getSource() == makeAppointmentButton) {
-            String inputAppointmentName = JOptionPane.showInputDialog("Patient Name: ");
-            String inputAppointmentTime = JOptionPane.showInputDialog("Booked Time: ");
-
-            Appointment appointment = new Appointment(inputAppointmentName, inputAppointmentTime);
-            al.addAppointment(appointment);
-            JOptionPane.showMessageDialog(this, "Successful");
+            bookAppointment();
         }
 
         // remove an appointment
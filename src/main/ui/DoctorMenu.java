@@ -4,52 +4,122 @@ import model.Doctor;
 import model.DoctorList;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
 
 // This class represents the UI of the show doctors feature of the program.
-public class DoctorMenu extends JFrame {
+// The doctor directory can be narrowed down to one department, and to the doctors whose names start with the text
+// typed into the search field.
+public class DoctorMenu extends JFrame implements ActionListener, DocumentListener {
+    private static final String ALL_DEPARTMENTS = "All departments";
 
-    // initializing empty list of doctors to be manipulated by the program
-    protected DoctorList dl = new DoctorList();
+    // list of doctors employed at the hospital, shared with the main menu
+    protected DoctorList dl;
 
     // GUI and table elements
     Container tableContainer = getContentPane();
-    JTable doctorTable = new JTable();
-    String[] columns = {"Name", "Department"};
-    Object[][] object = new Object[10][10];
+    JLabel departmentLabel = new JLabel("Department:");
+    JComboBox<String> departmentBox = new JComboBox<>();
+    JLabel searchLabel = new JLabel("Name starts with:");
+    JTextField searchField = new JTextField();
+    DoctorTableModel doctorTableModel = new DoctorTableModel();
+    JTable doctorTable = new JTable(doctorTableModel);
+    JScrollPane doctorTablePane = new JScrollPane(doctorTable);
 
     // constructor
-    // EFFECTS: initializes list of doctors with final variables, and constructs window with table showing all values.
-    public DoctorMenu() {
-        dl.initDoctors();
+    // EFFECTS: accesses the list of doctors of the main menu, and constructs window with table showing all values.
+    public DoctorMenu(MainMenu mm) {
+        dl = mm.dl;
 
         this.setTitle("MyHospitalManager -- Doctors");
         this.setVisible(true);
-        this.setBounds(1000, 100, 550, 208);
+        this.setBounds(1000, 100, 550, 600);
         this.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         this.setResizable(false);
 
+        tableContainer.setLayout(null);
+        setPositionAndSize();
+        addComponents();
         initializeTable();
+        departmentBox.addActionListener(this);
+        searchField.getDocument().addDocumentListener(this);
+    }
 
-        tableContainer.setLayout(null);
-        tableContainer.add(doctorTable);
-        doctorTable.setBounds(0, 0, 550, 1000);
+    // MODIFIES: departmentLabel, departmentBox, searchLabel, searchField, doctorTablePane
+    // EFFECTS: sets the coordinates and dimensions of the GUI elements on the screen
+    public void setPositionAndSize() {
+        departmentLabel.setBounds(20, 15, 120, 25);
+        departmentBox.setBounds(140, 15, 370, 25);
+        searchLabel.setBounds(20, 50, 120, 25);
+        searchField.setBounds(140, 50, 370, 25);
+        doctorTablePane.setBounds(0, 90, 535, 475);
+    }
+
+    // MODIFIES: tableContainer
+    // EFFECTS: adds the GUI elements to the window
+    public void addComponents() {
+        tableContainer.add(departmentLabel);
+        tableContainer.add(departmentBox);
+        tableContainer.add(searchLabel);
+        tableContainer.add(searchField);
+        tableContainer.add(doctorTablePane);
     }
 
-    // MODIFIES: doctorTable
-    // EFFECTS: creates table with data corresponding to values in doctor list
+    // MODIFIES: departmentBox, doctorTableModel
+    // EFFECTS: fills the department choices from the departments of the doctor list, and shows all doctors
     public void initializeTable() {
-        int i = 1;
-        if (dl.getDoctors().size() != 0) {
-            for (Doctor doctor : dl.getDoctors()) {
-                object[0][0] = "Name";
-                object[0][1] = "Department";
-                object[i][0] = "Dr. " + doctor.getDoctorName();
-                object[i][1] = doctor.getDepartment();
-                i++;
-                doctorTable = new JTable(object, columns);
+        departmentBox.addItem(ALL_DEPARTMENTS);
+        for (String department : dl.getDepartments()) {
+            departmentBox.addItem(department);
+        }
+        showDoctors();
+    }
+
+    // MODIFIES: doctorTableModel
+    // EFFECTS: shows the doctors of the chosen department whose names start with the text in the search field;
+    //          doctors found by name are shown in alphabetical order, and others in the order they were added
+    public void showDoctors() {
+        String department = (String) departmentBox.getSelectedItem();
+        boolean allDepartments = department == null || department.equals(ALL_DEPARTMENTS);
+        String prefix = searchField.getText();
+        if (prefix.isEmpty()) {
+            doctorTableModel.setDoctors(allDepartments ? dl.getDoctors() : dl.getDoctorsIn(department));
+            return;
+        }
+        List<Doctor> shown = new ArrayList<>();
+        for (Doctor doctor : dl.searchByName(prefix, Integer.MAX_VALUE)) {
+            if (allDepartments || department.equals(doctor.getDepartment())) {
+                shown.add(doctor);
             }
         }
+        doctorTableModel.setDoctors(shown);
+    }
+
+    // EFFECTS: shows the doctors of the department chosen in departmentBox
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        showDoctors();
+    }
+
+    // EFFECTS: searches again whenever text is typed into the search field
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        showDoctors();
     }
-}
 
+    // EFFECTS: searches again whenever text is deleted from the search field
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        showDoctors();
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // nothing
+    }
+}
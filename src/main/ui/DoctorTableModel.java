@@ -0,0 +1,44 @@
+package ui;
+
+import model.Doctor;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+// This class represents the rows of the doctor table: one row per doctor shown, read straight from the list of doctors
+// so that the table can show any number of them.
+public class DoctorTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Name", "Department"};
+
+    private List<Doctor> doctors = new ArrayList<>();
+
+    // MODIFIES: this
+    // EFFECTS: shows the given doctors in the table, in order
+    public void setDoctors(List<Doctor> doctors) {
+        this.doctors = doctors;
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return doctors.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    // EFFECTS: returns the name (with title) or department of the doctor in the given row
+    @Override
+    public Object getValueAt(int row, int column) {
+        Doctor doctor = doctors.get(row);
+        return column == 0 ? "Dr. " + doctor.getDoctorName() : doctor.getDepartment();
+    }
+}
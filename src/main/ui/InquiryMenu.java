@@ -1,57 +1,138 @@
 package ui;
 
+import model.AppointmentTime;
 import model.Inquiry;
 import model.InquiryList;
+import model.InquiryPriority;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
 // This class represents the UI of the show inquiries feature of the program.
-public class InquiryMenu extends JFrame {
+// The inquiries waiting for a response are shown in the order they should be answered, unless a keyword search is
+// entered, in which case the inquiries matching every keyword are shown, best match first.
+public class InquiryMenu extends JFrame implements ActionListener {
+    private static final int SEARCH_RESULTS_SHOWN = 100;
 
-    // initializing empty list of inquiries for use by the program
-    protected InquiryList il = new InquiryList();
+    // list of inquiries filed at the hospital, shared with the main menu
+    protected InquiryList il;
 
     // GUI and table elements
     Container tableContainer = getContentPane();
-    JTable inquiryTable = new JTable();
-    String[] columns = {"Subject", "Date", "Remarks"};
-    Object[][] object = new Object[4][4];
+    String[] columns = {"Priority", "Subject", "Date", "Waiting (min)", "Remarks"};
+    DefaultTableModel inquiryTableModel = new DefaultTableModel(columns, 0);
+    JTable inquiryTable = new JTable(inquiryTableModel);
+    JScrollPane inquiryTablePane = new JScrollPane(inquiryTable);
+    JButton fileInquiryButton = new JButton("File inquiry");
+    JButton respondButton = new JButton("Respond to next");
+    JButton responseTimesButton = new JButton("Response times");
+    JTextField searchField = new JTextField();
+    JButton searchButton = new JButton("Search");
 
     // constructor
-    // EFFECTS: initializes inquiry list with dummy inquiries, constructs a window containing the table where the
-    // values are held
-    public InquiryMenu() {
-        il.initInquiries();
+    // EFFECTS: accesses the list of inquiries of the main menu, and constructs a window containing the triage queue
+    public InquiryMenu(MainMenu mm) {
+        il = mm.il;
 
         this.setTitle("MyHospitalManager -- Inquiries");
         this.setVisible(true);
-        this.setBounds(1000, 100, 550, 110);
+        this.setBounds(1000, 100, 700, 450);
         this.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         this.setResizable(false);
 
+        tableContainer.setLayout(null);
+        setPositionAndSize();
+        addComponents();
+        fileInquiryButton.addActionListener(this);
+        respondButton.addActionListener(this);
+        responseTimesButton.addActionListener(this);
+        searchField.addActionListener(this);
+        searchButton.addActionListener(this);
         initializeTable();
+    }
 
-        tableContainer.setLayout(null);
-        tableContainer.add(inquiryTable);
-        inquiryTable.setBounds(0, 0, 550, 1000);
+    // MODIFIES: fileInquiryButton, respondButton, responseTimesButton, searchField, searchButton, inquiryTablePane
+    // EFFECTS: sets the coordinates and dimensions of the GUI elements on the screen
+    public void setPositionAndSize() {
+        fileInquiryButton.setBounds(20, 15, 200, 40);
+        respondButton.setBounds(240, 15, 200, 40);
+        responseTimesButton.setBounds(460, 15, 200, 40);
+        searchField.setBounds(20, 65, 530, 30);
+        searchButton.setBounds(560, 65, 100, 30);
+        inquiryTablePane.setBounds(0, 105, 685, 310);
+    }
+
+    // MODIFIES: tableContainer
+    // EFFECTS: adds the GUI elements to the window
+    public void addComponents() {
+        tableContainer.add(fileInquiryButton);
+        tableContainer.add(respondButton);
+        tableContainer.add(responseTimesButton);
+        tableContainer.add(searchField);
+        tableContainer.add(searchButton);
+        tableContainer.add(inquiryTablePane);
     }
 
-    // MODIFIES: inquiryTable
-    // EFFECTS: initializes a table with values parsed in from inquiry list
+    // MODIFIES: inquiryTableModel
+    // EFFECTS: fills the table with the inquiries matching the search keywords, best match first, or if there are no
+    //          keywords, with the inquiries waiting for a response, most pressing first
     public void initializeTable() {
-        int i = 1;
-        if (il.getInquiries().size() != 0) {
-            for (Inquiry inquiry : il.getInquiries()) {
-                object[0][0] = "Subject";
-                object[0][1] = "Date";
-                object[0][2] = "Remarks";
-                object[i][0] = inquiry.getSubject();
-                object[i][1] = inquiry.getDate();
-                object[i][2] = inquiry.getRemarks();
-                i++;
-                inquiryTable = new JTable(object, columns);
+        long now = AppointmentTime.now();
+        String query = searchField.getText().trim();
+        inquiryTableModel.setRowCount(0);
+        for (Inquiry inquiry : query.isEmpty() ? il.getQueue() : il.search(query, true, SEARCH_RESULTS_SHOWN)) {
+            inquiryTableModel.addRow(new Object[] {inquiry.getPriority(), inquiry.getSubject(), inquiry.getDate(),
+                    now - inquiry.getFiledAt(), inquiry.getRemarks()});
+        }
+    }
+
+    // MODIFIES: il
+    // EFFECTS: prompts the user for the details of a new inquiry, and files it
+    private void fileInquiry() {
+        String subject = JOptionPane.showInputDialog("Subject: ");
+        String date = JOptionPane.showInputDialog("Date: ");
+        String remarks = JOptionPane.showInputDialog("Remarks: ");
+        InquiryPriority priority = (InquiryPriority) JOptionPane.showInputDialog(this, "Priority: ",
+                "MyHospitalManager", JOptionPane.QUESTION_MESSAGE, null, InquiryPriority.values(),
+                InquiryPriority.ROUTINE);
+        if (priority != null) {
+            il.addInquiry(new Inquiry(subject, date, remarks, priority));
+        }
+    }
+
+    // EFFECTS: returns the response time percentiles and missed targets of each priority, one line per priority
+    private String describeResponseTimes() {
+        StringBuilder text = new StringBuilder();
+        for (InquiryPriority priority : InquiryPriority.values()) {
+            text.append(priority).append(": ").append(il.responseCount(priority)).append(" answered");
+            if (il.responseCount(priority) > 0) {
+                text.append(", median ").append(il.responseTimePercentile(priority, 50)).append(" min, 95th ")
+                        .append(il.responseTimePercentile(priority, 95)).append(" min, ")
+                        .append(il.missedTargetCount(priority)).append(" over the ")
+                        .append(priority.getTargetMinutes()).append(" min target");
             }
+            text.append("\n");
+        }
+        return text.toString();
+    }
+
+    // EFFECTS: specifies action listening behavior for the buttons
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        if (e.getSource() == fileInquiryButton) {
+            fileInquiry();
+        }
+        if (e.getSource() == respondButton) {
+            Inquiry answered = il.respondToNext();
+            JOptionPane.showMessageDialog(this, answered == null ? "No inquiries are waiting."
+                    : "Responded to \"" + answered.getSubject() + "\".");
         }
+        if (e.getSource() == responseTimesButton) {
+            JOptionPane.showMessageDialog(this, describeResponseTimes());
+        }
+        initializeTable();
     }
 }
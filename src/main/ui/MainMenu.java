@@ -2,8 +2,9 @@ package ui;
 
 import model.Event;
 import model.*;
-import persistence.JsonReader;
-import persistence.JsonWriter;
+import persistence.EventLogAppender;
+import persistence.JsonSnapshot;
+import persistence.SnapshotLoader;
 
 import javax.swing.*;
 import java.awt.*;
@@ -13,6 +14,12 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 // This class represents the home page of the program.
 // This code references the JSONSerialization demo project given by the course.
@@ -32,24 +39,25 @@ public class MainMenu extends JFrame implements ActionListener {
     protected InquiryMenu inquiryMenu;
 
     // initializing lists to data to be used by the application
+    protected DoctorList dl = new DoctorList();
     protected AppointmentList al = new AppointmentList();
     protected MedicalRecordList ml = new MedicalRecordList();
     protected PatientList pl = new PatientList();
+    protected InquiryList il = new InquiryList();
 
     // persistence elements
-    private static final String APPOINTMENT_STORE = "./data/appointments.json";
-    private static final String MEDICAL_RECORD_STORE = "./data/medicalrecords.json";
-    private static final String PATIENT_LIST_STORE = "./data/patients.json";
+    private static final String STATE_STORE = "./data";
+    private static final int LOAD_THREADS = SnapshotLoader.STORES;
+    private static final String EVENT_LOG_STORE = "./data/events";
+    private static final long EVENT_COMMIT_MILLIS = 200;
+    private static final long EVENT_SEGMENT_BYTES = 1 << 20;
 
-    // JSon readers and writers
-    private JsonWriter appointmentWriter;
-    private JsonReader appointmentReader;
+    // saves the event log to disk as the program runs
+    private EventLogAppender eventLogAppender;
 
-    private JsonWriter medicalRecordWriter;
-    private JsonReader medicalRecordReader;
-
-    private JsonWriter patientListWriter;
-    private JsonReader patientListReader;
+    // the saved state of the lists, read and written as one snapshot, and the threads that read its lists in parallel
+    private JsonSnapshot snapshot;
+    private ExecutorService loadExecutor;
 
     // GUI components for the main menu
     Container mainMenu = getContentPane();
@@ -83,6 +91,7 @@ public class MainMenu extends JFrame implements ActionListener {
             @Override
             public void windowClosing(WindowEvent e) {
                 printLog();
+                stopEventLogAppender();
                 el.clear();
                 System.out.println("Event log has been cleared.");
                 System.exit(0);
@@ -96,28 +105,67 @@ public class MainMenu extends JFrame implements ActionListener {
         addComponents();
         addActionEvents();
         initializeReaderAndWriter();
+        startEventLogAppender();
+        loadDoctors();
+        il.initInquiries();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts saving the event log to disk as events are logged, warning the user if it cannot be saved
+    public void startEventLogAppender() {
+        eventLogAppender = new EventLogAppender(Paths.get(EVENT_LOG_STORE), EVENT_COMMIT_MILLIS, EVENT_SEGMENT_BYTES);
+        try {
+            eventLogAppender.start(EventLog.getInstance());
+        } catch (IOException e) {
+            eventLogAppender = null;
+            JOptionPane.showMessageDialog(this, "The event log cannot be saved to " + EVENT_LOG_STORE);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: saves the events still waiting to be written to disk, and stops saving the event log
+    public void stopEventLogAppender() {
+        if (eventLogAppender == null) {
+            return;
+        }
+        try {
+            eventLogAppender.close();
+        } catch (IOException e) {
+            System.out.println("The last events could not be saved to " + EVENT_LOG_STORE);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads the doctor directory from file, leaving the list of doctors empty if it cannot be read
+    public void loadDoctors() {
+        try {
+            dl = snapshot.current().reader(JsonSnapshot.DOCTORS).readDoctorList();
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "The doctor directory could not be loaded from " + STATE_STORE);
+        }
     }
 
     // MODIFIES: el
-    // EFFECTS: prints the event log to the console
+    // EFFECTS: prints the event log to the console, followed by the number of events of each kind
     public void printLog() {
         System.out.println("Event Log:");
         el = EventLog.getInstance();
         for (Event e : el) {
             System.out.println(e.toString());
         }
+        for (EntityKind kind : EntityKind.values()) {
+            System.out.println(kind.getSingular() + " events: " + el.count(kind));
+        }
     }
 
-    // EFFECTS: initializes the JSon readers and writers
+    // EFFECTS: initializes the snapshot the lists are saved to and loaded from, and the threads that load them
     public void initializeReaderAndWriter() {
-        appointmentWriter = new JsonWriter(APPOINTMENT_STORE);
-        appointmentReader = new JsonReader(APPOINTMENT_STORE);
-
-        medicalRecordWriter = new JsonWriter(MEDICAL_RECORD_STORE);
-        medicalRecordReader = new JsonReader(MEDICAL_RECORD_STORE);
-
-        patientListWriter = new JsonWriter(PATIENT_LIST_STORE);
-        patientListReader = new JsonReader(PATIENT_LIST_STORE);
+        snapshot = new JsonSnapshot(STATE_STORE);
+        loadExecutor = Executors.newFixedThreadPool(LOAD_THREADS, r -> {
+            Thread thread = new Thread(r, "state-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     // MODIFIES: patientButton, doctorButton, inquiryButton, medicalRecordButton, appointmentButton,
@@ -183,36 +231,82 @@ public class MainMenu extends JFrame implements ActionListener {
         aboutButton.addActionListener(this);
     }
 
-    // EFFECTS: saves current state of program as a JSonObject
-    public void saveStateToJson() {
+    // EFFECTS: saves current state of program as a single snapshot of JSon files and returns true once it has been
+    //          committed; returns false, keeping the last snapshot saved, if the lists cannot all be saved
+    public boolean saveStateToJson() {
         try {
-            appointmentWriter.open();
-            appointmentWriter.writeAppointmentList(al);
-            appointmentWriter.close();
-
-            medicalRecordWriter.open();
-            medicalRecordWriter.writeMedicalRecordList(ml);
-            medicalRecordWriter.close();
-
-            patientListWriter.open();
-            patientListWriter.writePatientList(pl);
-            patientListWriter.close();
-
-        } catch (FileNotFoundException e) {
-            JOptionPane.showMessageDialog(this, "File not found!");
+            snapshot.save(al, ml, pl, dl);
+            return true;
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this, "The data could not be saved to " + STATE_STORE + ": "
+                    + e.getMessage(), "Save state", JOptionPane.ERROR_MESSAGE);
+            return false;
         }
     }
 
-    // EFFECTS: parses lists of data from JSon
+    // MODIFIES: this
+    // EFFECTS: parses lists of data from JSon, all from the last snapshot saved; the lists are read in parallel off
+    //          the event thread while a progress bar is shown, and each list is replaced once they are all read. The
+    //          progress bar is closed and the button enabled again however the loading ends
     public void loadStateToJson() {
+        JsonSnapshot.Generation saved;
         try {
-            al = appointmentReader.readAppointmentList();
-            ml = medicalRecordReader.readMedicalRecordList();
-            pl = patientListReader.readPatientList();
-
+            saved = snapshot.current();
         } catch (IOException e) {
-            JOptionPane.showMessageDialog(this, "File not found!");
+            JOptionPane.showMessageDialog(this, "The saved data could not be found in " + STATE_STORE);
+            return;
+        }
+        loadStateButton.setEnabled(false);
+        ProgressMonitor progress = new ProgressMonitor(this, "Loading data from file...", null, 0,
+                SnapshotLoader.STORES);
+        AtomicInteger loaded = new AtomicInteger();
+        new SnapshotLoader(saved, loadExecutor).load((store, failure) -> {
+            int done = loaded.incrementAndGet();
+            SwingUtilities.invokeLater(() -> {
+                progress.setNote("Loaded " + store);
+                progress.setProgress(done);
+            });
+        }).whenComplete((result, failure) -> SwingUtilities.invokeLater(() -> endLoading(progress, result, failure)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes progress and enables loading again, then replaces the lists loaded by result, or tells the user
+    //          why loading failed if failure is not null
+    private void endLoading(ProgressMonitor progress, SnapshotLoader result, Throwable failure) {
+        progress.close();
+        loadStateButton.setEnabled(true);
+        if (failure == null) {
+            finishLoading(result);
+            return;
         }
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        JOptionPane.showMessageDialog(this, "The data could not be loaded from file: " + cause, "Load state",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces each list that was loaded, and tells the user which lists could not be loaded and why; the
+    //          doctors are only replaced along with the appointments booked with them
+    private void finishLoading(SnapshotLoader result) {
+        if (result.getAppointmentList() != null) {
+            dl = result.getDoctorList();
+            al = result.getAppointmentList();
+        }
+        if (result.getMedicalRecordList() != null) {
+            ml = result.getMedicalRecordList();
+        }
+        if (result.getPatientList() != null) {
+            pl = result.getPatientList();
+        }
+        if (result.getFailures().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Successfully loaded data from file.");
+            return;
+        }
+        StringBuilder message = new StringBuilder("Some data could not be loaded from file:");
+        for (Map.Entry<String, Exception> failure : result.getFailures().entrySet()) {
+            message.append("\n").append(failure.getKey()).append(": ").append(failure.getValue().getMessage());
+        }
+        JOptionPane.showMessageDialog(this, message.toString(), "Load state", JOptionPane.WARNING_MESSAGE);
     }
 
     // action listeners for main menu GUI
@@ -228,12 +322,12 @@ public class MainMenu extends JFrame implements ActionListener {
 
         // Brings the user to the doctor menu if doctorButton is pressed
         if (e.getSource() == doctorButton) {
-            doctorMenu = new DoctorMenu();
+            doctorMenu = new DoctorMenu(this);
         }
 
         // Brings the user to the inquiry menu if inquiryButton is pressed
         if (e.getSource() == inquiryButton) {
-            inquiryMenu = new InquiryMenu();
+            inquiryMenu = new InquiryMenu(this);
         }
 
         // Brings the user to the medical record menu if medicalRecordButton is pressed
@@ -249,8 +343,9 @@ public class MainMenu extends JFrame implements ActionListener {
         // Allows the user to save the current state of their application to file
         if (e.getSource() == saveStateButton) {
             try {
-                saveStateToJson();
-                JOptionPane.showMessageDialog(this, "Successfully saved data to file.");
+                if (saveStateToJson()) {
+                    JOptionPane.showMessageDialog(this, "Successfully saved data to file.");
+                }
             } catch (NullPointerException ne) {
                 ne.printStackTrace();
                 JOptionPane.showMessageDialog(this, "The lists have not been initialized!");
@@ -260,7 +355,6 @@ public class MainMenu extends JFrame implements ActionListener {
         // Allows the user to load a previous state of their application from file
         if (e.getSource() == loadStateButton) {
             loadStateToJson();
-            JOptionPane.showMessageDialog(this, "Successfully loaded data from file.");
         }
 
         // Brings the user to the appointment menu if aboutButton is pressed
@@ -1,7 +1,10 @@
 package ui;
 
+import model.BloodType;
 import model.MedicalRecord;
 import model.MedicalRecordList;
+import model.MedicalRecordStatistics;
+import model.MedicalRecordStatistics.BmiCategory;
 
 import javax.swing.*;
 import java.awt.*;
@@ -10,6 +13,7 @@ import java.awt.event.ActionListener;
 
 // This class represents the UI of the medical records feature of the program.
 public class MedicalRecordMenu extends JFrame implements ActionListener {
+    private static final int DONORS_SHOWN = 20;
 
     // initializing a list of medical records to be manipulated by the program.
     protected MedicalRecordList ml;
@@ -18,6 +22,8 @@ public class MedicalRecordMenu extends JFrame implements ActionListener {
     Container medicalRecordMenu = getContentPane();
     JButton makeMedicalRecordButton = new JButton("Make new medical record");
     JButton showMedicalRecordsButton = new JButton("Show all medical records");
+    JButton showStatisticsButton = new JButton("Show statistics");
+    JButton findDonorsButton = new JButton("Find compatible donors");
 
     // These two components set the background color
     JPanel backgroundPanel = new JPanel();
@@ -47,11 +53,14 @@ public class MedicalRecordMenu extends JFrame implements ActionListener {
         return ml;
     }
 
-    // MODIFIES: makeMedicalRecordButton, showMedicalRecordsButton, background Panel
+    // MODIFIES: makeMedicalRecordButton, showMedicalRecordsButton, showStatisticsButton, findDonorsButton,
+    //           background Panel
     // EFFECTS: sets the coordinates and dimensions of the buttons on the screen, and background panel
     public void setPositionAndSize() {
-        makeMedicalRecordButton.setBounds(115, 150, 300, 150);
-        showMedicalRecordsButton.setBounds(115, 350, 300, 150);
+        makeMedicalRecordButton.setBounds(115, 40, 300, 130);
+        showMedicalRecordsButton.setBounds(115, 210, 300, 130);
+        showStatisticsButton.setBounds(115, 380, 300, 130);
+        findDonorsButton.setBounds(115, 550, 300, 130);
         backgroundPanel.setBounds(0, 0, 650, 750);
     }
 
@@ -60,15 +69,60 @@ public class MedicalRecordMenu extends JFrame implements ActionListener {
     public void addComponents() {
         medicalRecordMenu.add(makeMedicalRecordButton);
         medicalRecordMenu.add(showMedicalRecordsButton);
+        medicalRecordMenu.add(showStatisticsButton);
+        medicalRecordMenu.add(findDonorsButton);
         medicalRecordMenu.add(backgroundPanel);
         backgroundPanel.setBackground(customColor);
     }
 
-    // MODIFIES: makeMedicalRecordButton, showMedicalRecordsButton
+    // MODIFIES: makeMedicalRecordButton, showMedicalRecordsButton, showStatisticsButton, findDonorsButton
     // EFFECTS: adds action listening behavior to selected GUI components
     public void addActionEvents() {
         makeMedicalRecordButton.addActionListener(this);
         showMedicalRecordsButton.addActionListener(this);
+        showStatisticsButton.addActionListener(this);
+        findDonorsButton.addActionListener(this);
+    }
+
+    // EFFECTS: prompts the user for a recipient's blood type and a range of ages, then shows the names of up to
+    //          DONORS_SHOWN medical records that could donate blood to that recipient
+    private void findDonors() {
+        BloodType recipient;
+        try {
+            recipient = BloodType.parse(JOptionPane.showInputDialog("Recipient's blood type (e.g. A+): "));
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage());
+            return;
+        }
+        int minAge = Integer.parseInt(JOptionPane.showInputDialog("Youngest donor age: "));
+        int maxAge = Integer.parseInt(JOptionPane.showInputDialog("Oldest donor age: "));
+        StringBuilder text = new StringBuilder();
+        text.append(ml.count(BloodType.donorsFor(recipient), minAge, maxAge)).append(" compatible donors");
+        for (MedicalRecord m : ml.findDonors(recipient, minAge, maxAge, DONORS_SHOWN)) {
+            text.append("\n").append(m.getName()).append(" (").append(m.getBloodType()).append(", ")
+                    .append(m.getAge()).append(")");
+        }
+        JOptionPane.showMessageDialog(this, text.toString());
+    }
+
+    // EFFECTS: returns a summary of the statistics of all medical records, one line per figure
+    private String describeStatistics(MedicalRecordStatistics stats) {
+        StringBuilder text = new StringBuilder();
+        text.append("Records: ").append(stats.getCount()).append("\n");
+        text.append("Blood types: ").append(stats.getBloodTypeCounts()).append("\n");
+        text.append(String.format("Height: mean %.1f, median %d, 90th percentile %d%n", stats.getMeanHeight(),
+                stats.getHeightPercentile(50), stats.getHeightPercentile(90)));
+        text.append(String.format("Weight: mean %.1f, median %d, 90th percentile %d%n", stats.getMeanWeight(),
+                stats.getWeightPercentile(50), stats.getWeightPercentile(90)));
+        text.append("Ages by decade:");
+        for (long count : stats.getAgeHistogram()) {
+            text.append(" ").append(count);
+        }
+        text.append("\nBMI:");
+        for (BmiCategory c : BmiCategory.values()) {
+            text.append(" ").append(c.name().toLowerCase()).append(" ").append(stats.getBmiCount(c));
+        }
+        return text.toString();
     }
 
     // EFFECTS: specifies action listening behavior for specific GUI components
@@ -83,18 +137,31 @@ public class MedicalRecordMenu extends JFrame implements ActionListener {
             int inputMedicalRecordAge = Integer.parseInt(JOptionPane.showInputDialog("Age: "));
             int inputMedicalRecordHeight = Integer.parseInt(JOptionPane.showInputDialog("Height: "));
             int inputMedicalRecordWeight = Integer.parseInt(JOptionPane.showInputDialog("Weight: "));
-            String inputMedicalRecordBloodType = JOptionPane.showInputDialog("Blood Type: ");
-
-            MedicalRecord medicalRecord = new MedicalRecord(inputMedicalRecordName, inputMedicalRecordAge,
-                    inputMedicalRecordHeight, inputMedicalRecordWeight, inputMedicalRecordBloodType);
-
-            ml.addMedicalRecord(medicalRecord);
-            JOptionPane.showMessageDialog(this, "Successful");
+            String inputMedicalRecordBloodType = JOptionPane.showInputDialog("Blood Type (e.g. O-): ");
+
+            try {
+                MedicalRecord medicalRecord = new MedicalRecord(inputMedicalRecordName, inputMedicalRecordAge,
+                        inputMedicalRecordHeight, inputMedicalRecordWeight, inputMedicalRecordBloodType);
+                ml.addMedicalRecord(medicalRecord);
+                JOptionPane.showMessageDialog(this, "Successful");
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(this, ex.getMessage());
+            }
         }
 
         // EFFECTS: shows all medical records contained in the program
         if (e.getSource() == showMedicalRecordsButton) {
             new MedicalRecordTable(this);
         }
+
+        // EFFECTS: shows summary statistics of all medical records contained in the program
+        if (e.getSource() == showStatisticsButton) {
+            JOptionPane.showMessageDialog(this, describeStatistics(ml.statistics()));
+        }
+
+        // EFFECTS: finds medical records that could donate blood to a given recipient
+        if (e.getSource() == findDonorsButton) {
+            findDonors();
+        }
     }
 }
@@ -5,12 +5,19 @@ import model.PatientList;
 import model.exceptions.EmptyListException;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 // This class represents the UI of the patient check-in feature of the program.
-public class PatientMenu extends JFrame implements ActionListener {
+public class PatientMenu extends JFrame implements ActionListener, DocumentListener {
+
+    // the number of matches shown by the type-ahead patient search
+    private static final int SEARCH_RESULTS = 10;
 
     protected PatientList pl;
 
@@ -19,6 +26,12 @@ public class PatientMenu extends JFrame implements ActionListener {
     JButton checkInButton = new JButton("Check in Patient");
     JButton checkOutButton = new JButton("Check Out Patient");
     JButton showPatientsButton = new JButton("Show all Patients");
+    JLabel searchLabel = new JLabel("Search patients by name:");
+    JTextField searchField = new JTextField();
+    DefaultListModel<String> searchResults = new DefaultListModel<>();
+    JList<String> searchResultList = new JList<>(searchResults);
+    JScrollPane searchResultPane = new JScrollPane(searchResultList);
+    SwingWorker<List<Patient>, Void> searchWorker;
 
     // These two components set the background color
     JPanel backgroundPanel = new JPanel();
@@ -33,7 +46,7 @@ public class PatientMenu extends JFrame implements ActionListener {
 
         this.setTitle("MyHospitalManager -- Patients");
         this.setVisible(true);
-        this.setBounds(1000, 100, 550, 750);
+        this.setBounds(1000, 100, 550, 900);
         this.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         this.setResizable(false);
 
@@ -54,7 +67,10 @@ public class PatientMenu extends JFrame implements ActionListener {
         checkInButton.setBounds(115, 50, 300, 150);
         checkOutButton.setBounds(115, 250, 300, 150);
         showPatientsButton.setBounds(115, 450, 300, 150);
-        backgroundPanel.setBounds(0, 0, 650, 750);
+        searchLabel.setBounds(115, 620, 300, 25);
+        searchField.setBounds(115, 645, 300, 25);
+        searchResultPane.setBounds(115, 675, 300, 175);
+        backgroundPanel.setBounds(0, 0, 650, 900);
     }
 
     // MODIFIES: patientMenu, backgroundPanel
@@ -63,6 +79,9 @@ public class PatientMenu extends JFrame implements ActionListener {
         patientMenu.add(checkInButton);
         patientMenu.add(checkOutButton);
         patientMenu.add(showPatientsButton);
+        patientMenu.add(searchLabel);
+        patientMenu.add(searchField);
+        patientMenu.add(searchResultPane);
         patientMenu.add(backgroundPanel);
         backgroundPanel.setBackground(customColor);
     }
@@ -73,6 +92,62 @@ public class PatientMenu extends JFrame implements ActionListener {
         checkInButton.addActionListener(this);
         checkOutButton.addActionListener(this);
         showPatientsButton.addActionListener(this);
+        searchField.getDocument().addDocumentListener(this);
+    }
+
+    // MODIFIES: searchWorker, searchResults
+    // EFFECTS: searches the patient list for names starting with the text in the search field on a background
+    //          thread, cancelling any search still running, and shows the matches once the search is done
+    public void searchPatients() {
+        if (searchWorker != null) {
+            searchWorker.cancel(false);
+        }
+        String prefix = searchField.getText();
+        searchWorker = new SwingWorker<List<Patient>, Void>() {
+            @Override
+            protected List<Patient> doInBackground() {
+                return pl.searchByName(prefix, SEARCH_RESULTS);
+            }
+
+            @Override
+            protected void done() {
+                if (!isCancelled()) {
+                    showSearchResults(this);
+                }
+            }
+        };
+        searchWorker.execute();
+    }
+
+    // MODIFIES: searchResults
+    // EFFECTS: replaces the shown matches with the result of the given finished search
+    private void showSearchResults(SwingWorker<List<Patient>, Void> worker) {
+        searchResults.clear();
+        try {
+            for (Patient patient : worker.get()) {
+                searchResults.addElement(patient.getName() + " (ID " + patient.getId() + ")");
+            }
+        } catch (InterruptedException | ExecutionException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    // EFFECTS: searches again whenever text is typed into the search field
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        searchPatients();
+    }
+
+    // EFFECTS: searches again whenever text is deleted from the search field
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        searchPatients();
+    }
+
+    // EFFECTS: does nothing; plain text fields do not fire attribute changes
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // nothing
     }
 
     // EFFECTS: specifies action listening behavior for selected GUI components
@@ -1,9 +1,15 @@
 package model;
 
+import model.exceptions.DoubleBookingException;
 import model.exceptions.EmptyListException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AppointmentListTest {
@@ -23,13 +29,13 @@ public class AppointmentListTest {
     }
 
     @Test
-    void testAddAppointment() {
+    void testAddAppointment() throws DoubleBookingException {
         al.addAppointment(a);
         assertEquals(1, al.length());
     }
 
     @Test
-    void testRemoveAppointment() throws EmptyListException {
+    void testRemoveAppointment() throws EmptyListException, DoubleBookingException {
 
         try {
             al.removeAppointment(a.getName());
@@ -48,8 +54,258 @@ public class AppointmentListTest {
     }
 
     @Test
-    void testLength() {
+    void testEventIdsStayStable() throws EmptyListException, DoubleBookingException {
+        Appointment kyle = new Appointment("Kyle", "2021-11-18 9:30 am");
+        Appointment andie = new Appointment("Andie", "2021-11-18 10:30 am");
+        al.addAppointment(a);
+        al.addAppointment(kyle);
+        al.removeAppointment(a.getName());
+        al.addAppointment(andie);
+        assertEquals(2, lastEvent().getEntityId());
+        assertEquals(Arrays.asList(kyle, andie), al.getAppointments());
+
+        al.removeAppointment("Kyle");
+        assertEquals(EventType.REMOVED, lastEvent().getType());
+        assertEquals(1, lastEvent().getEntityId());
+        al.removeAppointment("Andie");
+        assertEquals(2, lastEvent().getEntityId());
+    }
+
+    // EFFECTS: returns the last event logged
+    private Event lastEvent() {
+        Event last = null;
+        for (Event e : EventLog.getInstance()) {
+            last = e;
+        }
+        return last;
+    }
+
+    @Test
+    void testLength() throws DoubleBookingException {
+        al.addAppointment(a);
+        assertEquals(1, al.length());
+    }
+
+    @Test
+    void testAddAll() throws DoubleBookingException {
+        Appointment b = new Appointment("kyle", "9:30 am");
+        al.addAppointment(a);
+        al.addAll(Arrays.asList(b, new Appointment("andie", "10:20 pm")));
+        assertEquals(3, al.length());
+        assertEquals(b, al.getAppointments().get(1));
+    }
+
+    @Test
+    void testTimeQueries() throws EmptyListException, DoubleBookingException {
+        Appointment nine = new Appointment("kyle", "2021-11-18 9:00 am");
+        Appointment ten = new Appointment("andie", "2021-11-18 10:00 am");
+        Appointment alsoTen = new Appointment("greg", "2021-11-18 10:00");
+        Appointment eleven = new Appointment("sandy", "2021-11-18 11:00 am");
+        al.addAll(Arrays.asList(eleven, ten, a, nine, alsoTen));
+        long nineAm = AppointmentTime.parse("2021-11-18 9:00");
+        long elevenAm = AppointmentTime.parse("2021-11-18 11:00");
+
+        assertEquals(Arrays.asList(nine, ten, alsoTen), al.between(nineAm, elevenAm));
+        assertEquals(3, al.countInRange(nineAm, elevenAm));
+        assertEquals(0, al.countInRange(elevenAm, nineAm));
+        assertEquals(Arrays.asList(ten, alsoTen), al.next(nineAm + 1, 2));
+        assertEquals(Arrays.asList(eleven), al.next(elevenAm, 5));
+
+        al.removeAppointment("andie");
+        assertEquals(Arrays.asList(nine, alsoTen), al.between(nineAm, elevenAm));
+        nine.setTime("2021-11-18 11:30 am");
+        assertEquals(Arrays.asList(alsoTen), al.between(nineAm, elevenAm));
+        assertEquals(Arrays.asList(eleven, nine), al.next(elevenAm, 5));
+    }
+
+    @Test
+    void testDoubleBooking() throws DoubleBookingException {
+        Doctor doctor = new Doctor("Mika Pascual", "Cardiology");
+        Doctor other = new Doctor("Toni O'Brien", "Pediatrics");
+        al.addAppointment(new Appointment("kyle", "2021-11-18 9:00 am", doctor, 30));
+        al.addAppointment(new Appointment("andie", "2021-11-18 9:30 am", doctor, 30));
+        al.addAppointment(new Appointment("greg", "2021-11-18 9:15 am", other, 60));
+        al.addAppointment(new Appointment("sandy", "2021-11-18 9:15 am", null, 60));
+
+        try {
+            al.addAppointment(new Appointment("ryan", "2021-11-18 9:45 am", doctor, 15));
+            fail("Exception should have been thrown");
+        } catch (DoubleBookingException e) {
+            // nothing
+        }
+        assertEquals(4, al.length());
+        assertNull(al.findConflict(doctor, AppointmentTime.parse("2021-11-18 10:00"), 30));
+        assertEquals("greg", al.findConflict(other, AppointmentTime.parse("2021-11-18 8:30"), 60).getName());
+    }
+
+    @Test
+    void testAddAllRejectsWholeBatch() throws DoubleBookingException {
+        Doctor doctor = new Doctor("Mika Pascual", "Cardiology");
         al.addAppointment(a);
+        Appointment first = new Appointment("kyle", "2021-11-18 9:00 am", doctor, 30);
+        Appointment clash = new Appointment("andie", "2021-11-18 9:10 am", doctor, 30);
+        try {
+            al.addAll(Arrays.asList(first, clash));
+            fail("Exception should have been thrown");
+        } catch (DoubleBookingException e) {
+            // nothing
+        }
         assertEquals(1, al.length());
+        assertNull(al.findConflict(doctor, first.getStartMinute(), 30));
+        al.addAppointment(clash);
+        assertEquals(2, al.length());
+    }
+
+    @Test
+    void testScheduleFollowsChanges() throws DoubleBookingException, EmptyListException {
+        Doctor doctor = new Doctor("Mika Pascual", "Cardiology");
+        Appointment kyle = new Appointment("kyle", "2021-11-18 9:00 am", doctor, 30);
+        al.addAppointment(kyle);
+        long nine = kyle.getStartMinute();
+
+        kyle.setTime("2021-11-18 1:00 pm");
+        assertNull(al.findConflict(doctor, nine, 30));
+        assertEquals(kyle, al.findConflict(doctor, kyle.getStartMinute(), 30));
+        kyle.setDuration(90);
+        assertEquals(kyle, al.findConflict(doctor, kyle.getStartMinute() + 60, 30));
+        kyle.setDoctor(null);
+        assertNull(al.findConflict(doctor, kyle.getStartMinute(), 30));
+        kyle.setDoctor(doctor);
+        al.removeAppointment("kyle");
+        assertNull(al.findConflict(doctor, kyle.getStartMinute(), 30));
+    }
+
+    @Test
+    void testAppointmentsFor() throws DoubleBookingException, EmptyListException {
+        Appointment first = new Appointment("kyle", "2021-11-18 9:00 am");
+        Appointment second = new Appointment("kyle", "2021-11-19 9:00 am");
+        al.addAll(Arrays.asList(first, a, second));
+        assertEquals(Arrays.asList(first, second), al.appointmentsFor("kyle"));
+        assertTrue(al.appointmentsFor("andie").isEmpty());
+
+        al.removeAppointment("kyle");
+        assertEquals(Arrays.asList(second), al.appointmentsFor("kyle"));
+        assertEquals(Arrays.asList(a, second), al.getAppointments());
+
+        second.setName("andie");
+        assertTrue(al.appointmentsFor("kyle").isEmpty());
+        assertEquals(Arrays.asList(second), al.appointmentsFor("andie"));
+    }
+
+    @Test
+    void testRemoveAll() throws DoubleBookingException, EmptyListException {
+        try {
+            al.removeAll("kyle");
+            fail("Exception should have been thrown");
+        } catch (EmptyListException e) {
+            // nothing
+        }
+
+        for (int i = 0; i < 5; i++) {
+            al.addAppointment(new Appointment("kyle", "2021-11-1" + i + " 9:00 am"));
+        }
+        al.addAppointment(a);
+        assertEquals(5, al.removeAll("kyle"));
+        assertEquals(1, al.length());
+        assertEquals(0, al.removeAll("kyle"));
+        assertEquals(0, al.countInRange(0, Long.MAX_VALUE));
+        assertEquals(Arrays.asList(a), al.getAppointments());
+    }
+
+    @Test
+    void testBookWithLeastLoaded() throws DoubleBookingException, EmptyListException {
+        DoctorList dl = new DoctorList();
+        Doctor mika = new Doctor("Mika Pascual", "Cardiology");
+        Doctor lee = new Doctor("Lee Chan", "Cardiology");
+        dl.addAll(Arrays.asList(mika, lee));
+        al.addAppointment(new Appointment("kyle", "2021-11-18 9:00", mika, 60));
+        assertEquals(60, mika.getBookedMinutes());
+        Appointment first = new Appointment("andie", "2021-11-18 10:00");
+        assertEquals(lee, al.bookWithLeastLoaded(first, dl, "Cardiology"));
+        assertEquals(lee, first.getDoctor());
+        Appointment second = new Appointment("sam", "2021-11-18 10:15");
+        assertEquals(mika, al.bookWithLeastLoaded(second, dl, "Cardiology"));
+        assertEquals(90, mika.getBookedMinutes());
+        assertNull(al.bookWithLeastLoaded(new Appointment("jo", "2021-11-18 10:20"), dl, "Cardiology"));
+        assertNull(al.bookWithLeastLoaded(new Appointment("jo", "2021-11-18 11:00"), dl, "Oncology"));
+        assertEquals(3, al.length());
+        second.setDuration(15);
+        assertEquals(75, mika.getBookedMinutes());
+        al.removeAppointment("sam");
+        assertEquals(60, mika.getBookedMinutes());
+    }
+
+    @Test
+    void testReadWhileBooking() throws InterruptedException {
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        Thread terminal = new Thread(() -> {
+            try {
+                for (int i = 0; i < 2000; i++) {
+                    al.addAppointment(new Appointment("patient " + i, ""));
+                    if (i % 3 == 0) {
+                        al.removeAppointment("patient " + (i / 2));
+                    }
+                }
+            } catch (DoubleBookingException | EmptyListException | RuntimeException e) {
+                failures.add(e);
+            }
+        });
+        terminal.start();
+        while (terminal.isAlive()) {
+            List<Appointment> shown = al.getAppointments();
+            for (Appointment booked : shown) {
+                assertNotNull(booked);
+            }
+            assertThrows(UnsupportedOperationException.class, () -> shown.remove(0));
+        }
+        terminal.join();
+        assertTrue(failures.isEmpty());
+        assertEquals(al.length(), al.getAppointments().size());
+    }
+
+    @Test
+    void testBookWithLeastLoadedOnTheDay() throws DoubleBookingException {
+        DoctorList dl = new DoctorList();
+        Doctor mika = new Doctor("Mika Pascual", "Cardiology");
+        Doctor lee = new Doctor("Lee Chan", "Cardiology");
+        dl.addAll(Arrays.asList(mika, lee));
+        for (int day = 10; day < 20; day++) {
+            al.addAppointment(new Appointment("kyle", "2021-12-" + day + " 9:00", mika, 60));
+        }
+        al.addAppointment(new Appointment("andie", "2021-11-18 9:00", lee, 30));
+        assertEquals(600, mika.getBookedMinutes());
+        assertEquals(mika, al.bookWithLeastLoaded(new Appointment("sam", "2021-11-18 10:00"), dl, "Cardiology"));
+        assertEquals(lee, al.bookWithLeastLoaded(new Appointment("jo", "2021-12-10 10:00"), dl, "Cardiology"));
+        assertEquals(30, mika.getBookedMinutes(AppointmentTime.dayOf(AppointmentTime.parse("2021-11-18 9:00"))));
+    }
+
+    @Test
+    void testBookWithLeastLoadedConcurrently() throws InterruptedException {
+        DoctorList dl = new DoctorList();
+        for (int i = 0; i < 10; i++) {
+            dl.addDoctor(new Doctor("doctor " + i, "Cardiology"));
+        }
+        Thread[] terminals = new Thread[4];
+        for (int t = 0; t < terminals.length; t++) {
+            int terminal = t;
+            terminals[t] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    String time = "2021-12-0" + (1 + i / 40) + " " + (i % 40 / 2) + ":" + (i % 2 == 0 ? "00" : "30");
+                    al.bookWithLeastLoaded(new Appointment("patient " + terminal + " " + i, time), dl, "Cardiology");
+                }
+            });
+            terminals[t].start();
+        }
+        for (Thread terminal : terminals) {
+            terminal.join();
+        }
+        assertEquals(1000, al.length());
+        long total = 0;
+        for (Doctor d : dl.getDoctors()) {
+            assertTrue(d.getBookedMinutes() >= 50 * Appointment.DEFAULT_DURATION);
+            assertTrue(d.getBookedMinutes() <= 150 * Appointment.DEFAULT_DURATION);
+            total += d.getBookedMinutes();
+        }
+        assertEquals(1000 * Appointment.DEFAULT_DURATION, total);
     }
 }
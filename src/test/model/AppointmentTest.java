@@ -30,4 +30,11 @@ public class AppointmentTest {
         a.setTime("530 pm");
         assertEquals("530 pm", a.getTime());
     }
+
+    @Test
+    void testStartMinute() {
+        assertEquals(AppointmentTime.UNSCHEDULED, a.getStartMinute());
+        a.setTime("2021-11-18 9:30 am");
+        assertEquals(AppointmentTime.parse("2021-11-18 09:30"), a.getStartMinute());
+    }
 }
@@ -0,0 +1,51 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static model.AppointmentTime.UNSCHEDULED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AppointmentTimeTest {
+    private static final LocalDate DAY = LocalDate.of(2021, 11, 18);
+    private static final long DAY_START = DAY.toEpochDay() * 24 * 60;
+
+    @Test
+    void testParseTimeOfDay() {
+        assertEquals(DAY_START + 9 * 60 + 30, AppointmentTime.parse("9:30 am", DAY));
+        assertEquals(DAY_START + 3 * 60 + 30, AppointmentTime.parse("3:30am", DAY));
+        assertEquals(DAY_START + 22 * 60 + 20, AppointmentTime.parse("10:20 pm", DAY));
+        assertEquals(DAY_START + 17 * 60 + 30, AppointmentTime.parse("530 pm", DAY));
+        assertEquals(DAY_START + 14 * 60, AppointmentTime.parse("14:00", DAY));
+        assertEquals(DAY_START + 12 * 60, AppointmentTime.parse(" 12 P.M. ", DAY));
+        assertEquals(DAY_START, AppointmentTime.parse("12:00 am", DAY));
+    }
+
+    @Test
+    void testParseDateAndTime() {
+        long expected = AppointmentTime.of(LocalDateTime.of(2021, 12, 1, 21, 5));
+        assertEquals(expected, AppointmentTime.parse("2021-12-01 9:05 pm", DAY));
+        assertEquals(expected, AppointmentTime.parse("2021-12-1T21:05", DAY));
+    }
+
+    @Test
+    void testFormat() {
+        long start = AppointmentTime.parse("9:05 pm", DAY);
+        assertEquals("2021-11-18 21:05", AppointmentTime.format(start));
+        assertEquals(start, AppointmentTime.parse(AppointmentTime.format(start), DAY.plusDays(3)));
+        assertEquals("2021-11-18 00:00", AppointmentTime.format(DAY_START));
+    }
+
+    @Test
+    void testParseInvalid() {
+        assertEquals(UNSCHEDULED, AppointmentTime.parse("", DAY));
+        assertEquals(UNSCHEDULED, AppointmentTime.parse(null, DAY));
+        assertEquals(UNSCHEDULED, AppointmentTime.parse("tomorrow", DAY));
+        assertEquals(UNSCHEDULED, AppointmentTime.parse("25:00", DAY));
+        assertEquals(UNSCHEDULED, AppointmentTime.parse("13:00 pm", DAY));
+        assertEquals(UNSCHEDULED, AppointmentTime.parse("9:75", DAY));
+        assertEquals(UNSCHEDULED, AppointmentTime.parse("2021-02-30 9:00", DAY));
+    }
+}
@@ -0,0 +1,51 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloodTypeTest {
+
+    @Test
+    void testParse() {
+        assertEquals(BloodType.O_NEGATIVE, BloodType.parse("O-"));
+        assertEquals(BloodType.AB_POSITIVE, BloodType.parse(" ab + "));
+        assertEquals(BloodType.B_NEGATIVE, BloodType.parse("B negative"));
+        assertEquals(BloodType.A_POSITIVE, BloodType.parse("a pos"));
+        assertEquals(BloodType.O, BloodType.parse("O"));
+        assertEquals(BloodType.UNKNOWN, BloodType.parse(""));
+        assertEquals(BloodType.UNKNOWN, BloodType.parse(null));
+        assertThrows(IllegalArgumentException.class, () -> BloodType.parse("C+"));
+        assertThrows(IllegalArgumentException.class, () -> BloodType.parse("O+-"));
+    }
+
+    @Test
+    void testToString() {
+        assertEquals("AB-", BloodType.AB_NEGATIVE.toString());
+        assertEquals("A", BloodType.A.toString());
+        for (BloodType t : BloodType.values()) {
+            assertEquals(t, BloodType.parse(t.toString()));
+        }
+    }
+
+    @Test
+    void testCanDonateTo() {
+        assertTrue(BloodType.O_NEGATIVE.canDonateTo(BloodType.AB_POSITIVE));
+        assertTrue(BloodType.A_NEGATIVE.canDonateTo(BloodType.A_POSITIVE));
+        assertFalse(BloodType.A_POSITIVE.canDonateTo(BloodType.A_NEGATIVE));
+        assertFalse(BloodType.B_NEGATIVE.canDonateTo(BloodType.A_POSITIVE));
+        assertFalse(BloodType.O.canDonateTo(BloodType.O_NEGATIVE));
+        assertTrue(BloodType.O.canDonateTo(BloodType.A_POSITIVE));
+        assertFalse(BloodType.UNKNOWN.canDonateTo(BloodType.AB_POSITIVE));
+        assertFalse(BloodType.O_NEGATIVE.canDonateTo(BloodType.UNKNOWN));
+    }
+
+    @Test
+    void testDonorsFor() {
+        assertEquals(EnumSet.of(BloodType.O_NEGATIVE), BloodType.donorsFor(BloodType.O_NEGATIVE));
+        assertEquals(EnumSet.of(BloodType.O_NEGATIVE, BloodType.A_NEGATIVE), BloodType.donorsFor(BloodType.A));
+        assertEquals(12, BloodType.donorsFor(BloodType.AB_POSITIVE).size());
+    }
+}
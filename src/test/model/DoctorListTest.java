@@ -3,37 +3,148 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static model.Doctor.*;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class DoctorListTest {
-    private static final int NUM_DOCTORS = 9;
+    private static final long DAY = 18949;
+
     private DoctorList dl;
+    private Doctor mika;
+    private Doctor toni;
+    private Doctor katie;
 
     @BeforeEach
     void runBefore() {
         dl = new DoctorList();
+        mika = new Doctor("Mika Pascual", "Cardiology");
+        toni = new Doctor("Toni O'Brien", "Pediatrics");
+        katie = new Doctor("Katie Short", "Oncology");
     }
 
     // implicitly tests the getter method
     @Test
     void testConstructor() {
         assertEquals(0, dl.getDoctors().size());
+        assertEquals(0, dl.length());
+    }
+
+    @Test
+    void testAddDoctor() {
+        dl.addDoctor(mika);
+        dl.addDoctor(toni);
+        assertEquals(2, dl.length());
+        assertEquals(mika, dl.getDoctors().get(0));
+        assertEquals(toni, dl.getDoctors().get(1));
+    }
+
+    @Test
+    void testAddAll() {
+        dl.addDoctor(mika);
+        dl.addAll(Arrays.asList(toni, katie));
+        assertEquals(3, dl.length());
+        assertEquals(katie, dl.getDoctors().get(2));
+        assertEquals(katie, dl.findByName("Katie Short"));
+    }
+
+    @Test
+    void testFindByName() {
+        dl.addAll(Arrays.asList(mika, toni, katie));
+        assertEquals(katie, dl.findByName("Katie Short"));
+        assertNull(dl.findByName("Katie"));
+    }
+
+    @Test
+    void testSearchByName() {
+        Doctor kaylee = new Doctor("Kaylee Neale", "Neurology");
+        dl.addAll(Arrays.asList(mika, toni, katie, kaylee));
+        assertEquals(Arrays.asList(katie, kaylee), dl.searchByName("ka", 10));
+        assertEquals(Arrays.asList(katie), dl.searchByName("KA", 1));
+        assertTrue(dl.searchByName("z", 10).isEmpty());
     }
 
     @Test
-    void testInitDoctors() {
-        dl.initDoctors();
-        assertEquals(NUM_DOCTORS, dl.getDoctors().size());
-        assertEquals(D1, dl.getDoctors().get(0));
-        assertEquals(D2, dl.getDoctors().get(1));
-        assertEquals(D3, dl.getDoctors().get(2));
-        assertEquals(D4, dl.getDoctors().get(3));
-        assertEquals(D5, dl.getDoctors().get(4));
-        assertEquals(D6, dl.getDoctors().get(5));
-        assertEquals(D7, dl.getDoctors().get(6));
-        assertEquals(D8, dl.getDoctors().get(7));
-        assertEquals(D9, dl.getDoctors().get(8));
+    void testGetDoctorsIn() {
+        dl.addAll(Arrays.asList(mika, toni, katie));
+        Doctor second = new Doctor("Kyle", "Cardiology");
+        dl.addDoctor(second);
+        assertEquals(2, dl.getDoctorsIn("Cardiology").size());
+        assertEquals(mika, dl.getDoctorsIn("Cardiology").get(0));
+        assertEquals(second, dl.getDoctorsIn("Cardiology").get(1));
+        assertEquals(0, dl.getDoctorsIn("Dentistry").size());
+        assertEquals(Arrays.asList("Cardiology", "Oncology", "Pediatrics"), dl.getDepartments());
     }
 
+    @Test
+    void testChangesAreReindexed() {
+        dl.addAll(Arrays.asList(mika, toni));
+        mika.setDoctorName("Mika Hart");
+        toni.setDepartment("Cardiology");
+        assertNull(dl.findByName("Mika Pascual"));
+        assertEquals(mika, dl.findByName("Mika Hart"));
+        assertEquals(Arrays.asList(mika), dl.searchByName("mika h", 10));
+        assertEquals(Arrays.asList(mika, toni), dl.getDoctorsIn("Cardiology"));
+        assertEquals(Arrays.asList("Cardiology"), dl.getDepartments());
+    }
+
+    @Test
+    void testToJson() {
+        dl.addAll(Arrays.asList(mika, toni));
+        assertEquals(2, dl.toJson().getJSONArray("doctors").length());
+        assertEquals("Pediatrics", dl.toJson().getJSONArray("doctors").getJSONObject(1).getString("department"));
+    }
+
+    @Test
+    void testLeastLoaded() {
+        Doctor lee = new Doctor("Lee Chan", "Cardiology");
+        dl.addAll(Arrays.asList(mika, toni, lee));
+        assertEquals(mika, dl.leastLoaded("Cardiology", DAY));
+        mika.book(DAY, 30);
+        assertEquals(lee, dl.leastLoaded("Cardiology", DAY));
+        lee.book(DAY, 60);
+        assertEquals(mika, dl.leastLoaded("Cardiology", DAY));
+        assertEquals(lee, dl.leastLoaded("Cardiology", DAY, d -> d != mika));
+        assertNull(dl.leastLoaded("Cardiology", DAY, d -> false));
+        assertNull(dl.leastLoaded("Dermatology", DAY));
+        assertEquals(60, lee.getBookedMinutes());
+        assertEquals(60, lee.getBookedMinutes(DAY));
+        assertEquals(0, lee.getBookedMinutes(DAY + 1));
+    }
+
+    @Test
+    void testLeastLoadedOnTheDay() {
+        Doctor lee = new Doctor("Lee Chan", "Cardiology");
+        dl.addAll(Arrays.asList(mika, lee));
+        mika.book(DAY + 30, 600);
+        assertEquals(mika, dl.leastLoaded("Cardiology", DAY));
+        assertEquals(lee, dl.leastLoaded("Cardiology", DAY + 30));
+        lee.book(DAY, 30);
+        assertEquals(mika, dl.leastLoaded("Cardiology", DAY));
+        lee.book(DAY, -30);
+        mika.book(DAY + 30, -600);
+        assertEquals(0, mika.getBookedMinutes());
+        assertEquals(mika, dl.leastLoaded("Cardiology", DAY + 30));
+        Doctor sam = new Doctor("Sam Ortiz", "Cardiology");
+        mika.book(DAY, 45);
+        dl.addDoctor(sam);
+        lee.book(DAY, 15);
+        assertEquals(sam, dl.leastLoaded("Cardiology", DAY));
+    }
+
+    @Test
+    void testLeastLoadedAfterDepartmentChange() {
+        dl.addAll(Arrays.asList(mika, toni));
+        toni.book(DAY, 45);
+        toni.book(DAY + 1, 10);
+        toni.setDepartment("Cardiology");
+        assertEquals(mika, dl.leastLoaded("Cardiology", DAY));
+        mika.book(DAY, 60);
+        assertEquals(toni, dl.leastLoaded("Cardiology", DAY));
+        assertEquals(mika, dl.leastLoaded("Cardiology", DAY + 1));
+        assertEquals(10, toni.getBookedMinutes(DAY + 1));
+        assertNull(dl.leastLoaded("Pediatrics", DAY));
+        katie.book(DAY, 15);
+        assertEquals(15, katie.getBookedMinutes());
+    }
 }
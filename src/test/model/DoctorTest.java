@@ -32,4 +32,11 @@ public class DoctorTest {
         assertEquals("cardiology", d.getDepartment());
     }
 
+    @Test
+    void testToJson() {
+        d.setDoctorName("kyle");
+        d.setDepartment("Cardiology");
+        assertEquals("kyle", d.toJson().getString("name"));
+        assertEquals("Cardiology", d.toJson().getString("department"));
+    }
 }
@@ -0,0 +1,184 @@
+package model;
+
+import model.EventLog.OverflowPolicy;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTest {
+
+    // EFFECTS: returns the descriptions of the events in log, oldest first
+    private List<String> descriptions(EventLog log) {
+        List<String> found = new ArrayList<>();
+        for (Event e : log) {
+            found.add(e.getDescription());
+        }
+        return found;
+    }
+
+    @Test
+    void testKeepsLatestEvents() {
+        EventLog log = new EventLog(3, OverflowPolicy.DROP_OLDEST, null);
+        for (int i = 0; i < 5; i++) {
+            log.logEvent(new Event("event " + i));
+        }
+        assertEquals(3, log.getCapacity());
+        assertEquals(2, log.getDroppedCount());
+        assertEquals(3, descriptions(log).size());
+        assertEquals("event 2", descriptions(log).get(0));
+        assertEquals("event 4", descriptions(log).get(2));
+    }
+
+    @Test
+    void testSnapshot() {
+        EventLog log = new EventLog(10, OverflowPolicy.DROP_OLDEST, null);
+        log.logEvent(new Event("first"));
+        Iterator<Event> snapshot = log.iterator();
+        log.logEvent(new Event("second"));
+        assertEquals("first", snapshot.next().getDescription());
+        assertFalse(snapshot.hasNext());
+    }
+
+    @Test
+    void testClear() {
+        EventLog log = new EventLog(2, OverflowPolicy.DROP_OLDEST, null);
+        log.logEvent(new Event("first"));
+        log.logEvent(new Event("second"));
+        log.clear();
+        log.logEvent(new Event("third"));
+        assertEquals(2, descriptions(log).size());
+        assertEquals("Event log cleared.", descriptions(log).get(0));
+        assertEquals(0, log.getDroppedCount());
+    }
+
+    @Test
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new EventLog(0, OverflowPolicy.DROP_OLDEST, null));
+        assertThrows(IllegalArgumentException.class, () -> new EventLog(8, OverflowPolicy.SPILL_TO_DISK, null));
+    }
+
+    @Test
+    void testSpillToDisk() throws IOException {
+        Path spill = Files.createTempFile("events", ".jsonl");
+        try {
+            EventLog log = new EventLog(2, OverflowPolicy.SPILL_TO_DISK, spill);
+            for (int i = 0; i < 5; i++) {
+                log.logEvent(new Event("event " + i));
+            }
+            log.flushSpill();
+            List<String> lines = Files.readAllLines(spill, StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertEquals("event 0", new JSONObject(lines.get(0)).getString("text"));
+            assertEquals(2, new JSONObject(lines.get(2)).getLong("ticket"));
+            assertEquals(0, log.getDroppedCount());
+            assertEquals(2, descriptions(log).size());
+        } finally {
+            Files.delete(spill);
+        }
+    }
+
+    @Test
+    void testClearWritesSpill() throws IOException {
+        Path spill = Files.createTempFile("events", ".jsonl");
+        try {
+            EventLog log = new EventLog(2, OverflowPolicy.SPILL_TO_DISK, spill);
+            for (int i = 0; i < 5; i++) {
+                log.logEvent(new Event("event " + i));
+            }
+            log.clear();
+            assertEquals(3, Files.readAllLines(spill, StandardCharsets.UTF_8).size());
+        } finally {
+            Files.delete(spill);
+        }
+    }
+
+    @Test
+    void testManyProducers() throws InterruptedException {
+        EventLog log = new EventLog(1000, OverflowPolicy.DROP_OLDEST, null);
+        Thread[] producers = new Thread[8];
+        for (int t = 0; t < producers.length; t++) {
+            int producer = t;
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 20000; i++) {
+                    log.logEvent(new Event(producer + " " + i));
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        List<String> kept = descriptions(log);
+        assertEquals(1000, kept.size());
+        assertEquals(8 * 20000 - 1000, log.getDroppedCount());
+        int[] last = new int[producers.length];
+        for (String description : kept) {
+            String[] parts = description.split(" ");
+            int i = Integer.parseInt(parts[1]);
+            assertTrue(i > last[Integer.parseInt(parts[0])] || i == 0);
+            last[Integer.parseInt(parts[0])] = i;
+        }
+    }
+
+    @Test
+    void testCounts() {
+        EventLog log = new EventLog(2, OverflowPolicy.DROP_OLDEST, null);
+        log.logEvent(new Event(EventType.ADDED, EntityKind.PATIENT, 1));
+        log.logEvent(new Event(EventType.ADDED, EntityKind.PATIENT, 2));
+        log.logEvent(new Event(EventType.REMOVED, EntityKind.PATIENT, 1));
+        log.logEvent(new Event(EventType.ADDED, EntityKind.DOCTOR, 1));
+        assertEquals(3, log.count(EntityKind.PATIENT));
+        assertEquals(2, log.count(EntityKind.PATIENT, EventType.ADDED));
+        assertEquals(1, log.count(EntityKind.DOCTOR));
+        assertEquals(0, log.count(EntityKind.INQUIRY));
+        log.clear();
+        assertEquals(0, log.count(EntityKind.PATIENT));
+        assertEquals(1, log.count(EntityKind.EVENT_LOG, EventType.CLEARED));
+    }
+
+    @Test
+    void testEventsInRange() {
+        EventLog log = new EventLog(100, OverflowPolicy.DROP_OLDEST, null);
+        for (int i = 0; i < 30; i++) {
+            log.logEvent(new Event(EventType.ADDED, i % 3 == 0 ? EntityKind.DOCTOR : EntityKind.PATIENT, i, 1,
+                    null, 1000 + i * 10));
+        }
+        assertEquals(10, log.events(1000, 1100).size());
+        assertEquals(30, log.events(Long.MIN_VALUE, Long.MAX_VALUE).size());
+        List<Event> doctors = log.events(EntityKind.DOCTOR, 1000, 1100);
+        assertEquals(4, doctors.size());
+        assertEquals(9, doctors.get(3).getEntityId());
+        assertTrue(log.events(EntityKind.INQUIRY, 0, Long.MAX_VALUE).isEmpty());
+        assertTrue(log.events(2000, 3000).isEmpty());
+        log.logEvent(new Event(EventType.ADDED, EntityKind.DOCTOR, 30, 1, null, 1295));
+        assertEquals(30, log.events(EntityKind.DOCTOR, 1290, 1300).get(0).getEntityId());
+    }
+
+    @Test
+    void testEventsAfterWrapping() {
+        EventLog log = new EventLog(10, OverflowPolicy.DROP_OLDEST, null);
+        for (int i = 0; i < 25; i++) {
+            log.logEvent(new Event(EventType.ADDED, EntityKind.INQUIRY, i, 1, null, i));
+        }
+        List<Event> kept = log.events(EntityKind.INQUIRY, 0, 100);
+        assertEquals(10, kept.size());
+        assertEquals(15, kept.get(0).getEntityId());
+        for (int i = 25; i < 100; i++) {
+            log.logEvent(new Event(EventType.ADDED, i % 2 == 0 ? EntityKind.INQUIRY : EntityKind.PATIENT, i, 1,
+                    null, i));
+        }
+        assertEquals(5, log.events(EntityKind.INQUIRY, 0, 100).size());
+        assertEquals(3, log.events(EntityKind.PATIENT, 95, 100).size());
+        log.clear();
+        assertTrue(log.events(EntityKind.PATIENT, 0, 100).isEmpty());
+    }
+}
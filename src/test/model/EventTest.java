@@ -0,0 +1,48 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventTest {
+
+    @Test
+    void testDescriptions() {
+        assertEquals("Patient 1234 has been added to list of patients.",
+                new Event(EventType.ADDED, EntityKind.PATIENT, 1234).getDescription());
+        assertEquals("3 medical records have been added to list of medical records.",
+                new Event(EventType.ADDED, EntityKind.MEDICAL_RECORD, Event.NO_ID, 3).getDescription());
+        assertEquals("Appointment has been removed from list of appointments.",
+                new Event(EventType.REMOVED, EntityKind.APPOINTMENT, Event.NO_ID).getDescription());
+        assertEquals("List of inquiries has been initialized.",
+                new Event(EventType.INITIALIZED, EntityKind.INQUIRY, Event.NO_ID, 3).getDescription());
+        assertEquals("Inquiry 2 has been responded to.",
+                new Event(EventType.RESPONDED, EntityKind.INQUIRY, 2).getDescription());
+        assertEquals("Event log cleared.",
+                new Event(EventType.CLEARED, EntityKind.EVENT_LOG, Event.NO_ID).getDescription());
+        assertEquals("free text", new Event("free text").getDescription());
+    }
+
+    @Test
+    void testFields() {
+        long before = System.currentTimeMillis();
+        Event e = new Event(EventType.ADDED, EntityKind.DOCTOR, Event.NO_ID, 9);
+        assertEquals(EventType.ADDED, e.getType());
+        assertEquals(EntityKind.DOCTOR, e.getKind());
+        assertEquals(Event.NO_ID, e.getEntityId());
+        assertEquals(9, e.getCount());
+        assertTrue(e.getTimestamp() >= before && e.getTimestamp() <= System.currentTimeMillis());
+        assertEquals(e.getTimestamp(), e.getDate().getTime());
+        assertTrue(e.toString().endsWith("\n9 doctors have been added to list of doctors."));
+    }
+
+    @Test
+    void testEquals() {
+        Event e = new Event(EventType.ADDED, EntityKind.PATIENT, 1);
+        assertEquals(e, e);
+        assertNotEquals(e, null);
+        assertNotEquals(e, "event");
+        assertNotEquals(e, new Event(EventType.REMOVED, EntityKind.PATIENT, 1));
+        assertEquals(e.hashCode(), e.hashCode());
+    }
+}
@@ -0,0 +1,37 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static model.InquiryDate.UNDATED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class InquiryDateTest {
+    private static final int DAY = (int) LocalDate.of(2021, 9, 16).toEpochDay();
+
+    @Test
+    void testParseWritten() {
+        assertEquals(DAY, InquiryDate.parse("September 16, 2021"));
+        assertEquals(DAY, InquiryDate.parse(" sep 16 2021 "));
+        assertEquals(DAY, InquiryDate.parse("Sept. 16, 2021"));
+        assertEquals(DAY - 255, InquiryDate.parse("January 4, 2021"));
+    }
+
+    @Test
+    void testParseNumeric() {
+        assertEquals(DAY, InquiryDate.parse("2021-09-16"));
+        assertEquals(DAY, InquiryDate.parse("2021-9-16"));
+        assertEquals(DAY, InquiryDate.of(LocalDate.of(2021, 9, 16)));
+    }
+
+    @Test
+    void testParseInvalid() {
+        assertEquals(UNDATED, InquiryDate.parse(null));
+        assertEquals(UNDATED, InquiryDate.parse(""));
+        assertEquals(UNDATED, InquiryDate.parse("yesterday"));
+        assertEquals(UNDATED, InquiryDate.parse("Septober 16, 2021"));
+        assertEquals(UNDATED, InquiryDate.parse("February 30, 2021"));
+        assertEquals(UNDATED, InquiryDate.parse("2021-13-01"));
+    }
+}
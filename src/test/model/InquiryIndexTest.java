@@ -0,0 +1,71 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InquiryIndexTest {
+    private static final String[] WORDS = {"appointment", "billing", "parking", "doctor", "refund", "results",
+            "prescription", "wait", "lost", "card"};
+
+    @Test
+    void testTokenize() {
+        assertEquals(Arrays.asList("can", "t", "book"), InquiryIndex.tokenize("Can't book"));
+        assertEquals(Arrays.asList("room", "12b", "is", "cold"), InquiryIndex.tokenize("Room 12B -- is COLD!"));
+        assertTrue(InquiryIndex.tokenize(null).isEmpty());
+        assertTrue(InquiryIndex.tokenize(" ?! ").isEmpty());
+    }
+
+    @Test
+    void testRanking() {
+        InquiryIndex index = new InquiryIndex();
+        index.add(0, "parking", "");
+        index.add(1, "billing", "parking");
+        index.add(2, "billing", "refund");
+        index.add(3, "billing", "parking parking parking");
+        assertArrayEquals(new int[] {3, 0, 1}, index.search("parking", true, 10));
+        assertArrayEquals(new int[] {3, 1}, index.search("parking billing", true, 10));
+        assertArrayEquals(new int[] {2}, index.search("refund", false, 10));
+        assertArrayEquals(new int[0], index.search("parking", true, 0));
+        index.remove(3, "billing", "parking parking parking");
+        assertArrayEquals(new int[] {0, 1}, index.search("parking", true, 10));
+    }
+
+    @Test
+    void testMatchesScan() {
+        int n = 50000;
+        String[] texts = new String[n];
+        InquiryIndex index = new InquiryIndex();
+        for (int i = 0; i < n; i++) {
+            texts[i] = WORDS[i % 7] + " " + WORDS[(i / 7) % 10] + " " + WORDS[(i * 13) % 10];
+            index.add(i, texts[i], "");
+        }
+        assertEquals(scan(texts, true), asSet(index.search("doctor refund", true, n)));
+        assertEquals(scan(texts, false), asSet(index.search("doctor refund", false, n)));
+    }
+
+    // EFFECTS: returns the documents whose text contains "doctor" and (if all) or (if not all) "refund"
+    private Set<Integer> scan(String[] texts, boolean all) {
+        Set<Integer> found = new HashSet<>();
+        for (int i = 0; i < texts.length; i++) {
+            boolean doctor = texts[i].contains("doctor");
+            boolean refund = texts[i].contains("refund");
+            if (all ? doctor && refund : doctor || refund) {
+                found.add(i);
+            }
+        }
+        return found;
+    }
+
+    private Set<Integer> asSet(int[] docs) {
+        Set<Integer> set = new HashSet<>();
+        for (int doc : docs) {
+            set.add(doc);
+        }
+        return set;
+    }
+}
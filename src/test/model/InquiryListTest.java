@@ -3,29 +3,203 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static model.Inquiry.*;
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class InquiryListTest {
     private static final int NUM_OF_INQUIRIES = 3;
+    private static final long NOW = 27000000;
     private InquiryList il;
+    private Inquiry routine;
+    private Inquiry emergency;
+    private Inquiry low;
 
     @BeforeEach
     void runBefore() {
         il = new InquiryList();
+        routine = new Inquiry("cannot book appointment", "September 16, 2021", "N/a");
+        emergency = new Inquiry("emergency appointment", "November 19, 2021", "Please hurry!",
+                InquiryPriority.EMERGENCY);
+        low = new Inquiry("parking", "January 4, 2021", "", InquiryPriority.LOW);
     }
 
     @Test
     void testConstructor() {
         assertEquals(0, il.getInquiries().size());
+        assertEquals(0, il.waitingCount());
+        assertNull(il.peekNext());
+        assertNull(il.respondToNext(NOW));
     }
 
     @Test
     void testInitInquiries() {
         il.initInquiries();
         assertEquals(NUM_OF_INQUIRIES, il.getInquiries().size());
-        assertEquals(I1, il.getInquiries().get(0));
-        assertEquals(I2, il.getInquiries().get(1));
-        assertEquals(I3, il.getInquiries().get(2));
+        assertEquals("cannot book appointment", il.getInquiries().get(0).getSubject());
+        assertEquals("emergency appointment", il.getInquiries().get(1).getSubject());
+        assertEquals("I have a crush on a doctor", il.getInquiries().get(2).getSubject());
+        assertEquals(il.getInquiries().get(1), il.peekNext());
+    }
+
+    @Test
+    void testInitInquiriesOfSeveralLists() {
+        il.initInquiries();
+        Inquiry first = il.respondToNext(NOW);
+        assertEquals("emergency appointment", first.getSubject());
+
+        InquiryList other = new InquiryList();
+        other.initInquiries();
+        assertEquals(NUM_OF_INQUIRIES, other.waitingCount());
+        assertNotSame(first, other.peekNext());
+        assertTrue(first.isAnswered());
+        assertFalse(other.peekNext().isAnswered());
+
+        Inquiry second = il.respondToNext(NOW);
+        assertNotSame(first, second);
+        assertEquals(NUM_OF_INQUIRIES - 2, il.waitingCount());
+        assertNotNull(il.respondToNext(NOW));
+        assertNull(il.respondToNext(NOW));
+        assertFalse(il.respond(first, NOW));
+        assertEquals(NUM_OF_INQUIRIES, other.waitingCount());
+    }
+
+    @Test
+    void testQueueInPriorityOrder() {
+        il.addInquiry(low, NOW);
+        il.addInquiry(routine, NOW);
+        il.addInquiry(emergency, NOW + 10);
+        assertEquals(Arrays.asList(emergency, routine, low), il.getQueue());
+        assertEquals(Arrays.asList(low, routine, emergency), il.getInquiries());
+        assertEquals(emergency, il.respondToNext(NOW + 12));
+        assertEquals(routine, il.respondToNext(NOW + 60));
+        assertEquals(low, il.respondToNext(NOW + 61));
+        assertEquals(0, il.waitingCount());
+    }
+
+    @Test
+    void testAging() {
+        il.addInquiry(low, NOW);
+        int lowTarget = InquiryPriority.LOW.getTargetMinutes();
+        il.addInquiry(emergency, NOW + lowTarget - 20);
+        assertEquals(emergency, il.peekNext());
+        Inquiry later = new Inquiry("bleeding", "", "", InquiryPriority.EMERGENCY);
+        il.addInquiry(later, NOW + lowTarget - 5);
+        assertEquals(Arrays.asList(emergency, low, later), il.getQueue());
+    }
+
+    @Test
+    void testPriorityChange() {
+        il.addInquiry(emergency, NOW);
+        il.addInquiry(routine, NOW);
+        il.addInquiry(low, NOW);
+        low.setPriority(InquiryPriority.EMERGENCY);
+        emergency.setPriority(InquiryPriority.LOW);
+        assertEquals(Arrays.asList(low, routine, emergency), il.getQueue());
+    }
+
+    @Test
+    void testRespond() {
+        il.addInquiry(emergency, NOW);
+        il.addInquiry(routine, NOW);
+        il.respond(routine, NOW + 30);
+        assertTrue(routine.isAnswered());
+        assertEquals(NOW + 30, routine.getRespondedAt());
+        assertEquals(Arrays.asList(emergency), il.getQueue());
+        il.respond(routine, NOW + 40);
+        assertEquals(1, il.responseCount(InquiryPriority.ROUTINE));
+        assertEquals(30, il.responseTimePercentile(InquiryPriority.ROUTINE, 50));
+    }
+
+    @Test
+    void testResponseTimes() {
+        assertEquals(-1, il.responseTimePercentile(InquiryPriority.URGENT, 50));
+        for (int i = 1; i <= 100; i++) {
+            Inquiry urgent = new Inquiry("urgent " + i, "", "", InquiryPriority.URGENT);
+            il.addInquiry(urgent, NOW);
+            il.respond(urgent, NOW + i);
+        }
+        assertEquals(100, il.responseCount(InquiryPriority.URGENT));
+        assertEquals(50, il.responseTimePercentile(InquiryPriority.URGENT, 50));
+        assertEquals(95, il.responseTimePercentile(InquiryPriority.URGENT, 95));
+        assertEquals(1, il.responseTimePercentile(InquiryPriority.URGENT, 0));
+        assertEquals(40, il.missedTargetCount(InquiryPriority.URGENT));
+        assertEquals(0, il.responseCount(InquiryPriority.EMERGENCY));
+    }
+
+    @Test
+    void testManyInquiries() {
+        InquiryPriority[] priorities = InquiryPriority.values();
+        for (int i = 0; i < 5000; i++) {
+            il.addInquiry(new Inquiry("inquiry " + i, "", "", priorities[(i * 7) % priorities.length]),
+                    NOW + (i * 31) % 2000);
+        }
+        Inquiry previous = il.respondToNext(NOW + 5000);
+        while (il.waitingCount() > 0) {
+            Inquiry next = il.respondToNext(NOW + 5000);
+            assertTrue(previous.getDeadline() <= next.getDeadline());
+            previous = next;
+        }
+        assertEquals(5000, il.getInquiries().size());
+    }
+
+    @Test
+    void testSearch() {
+        il.addInquiry(routine, NOW);
+        il.addInquiry(emergency, NOW);
+        il.addInquiry(low, NOW);
+        il.addInquiry(new Inquiry("billing", "", "appointment fee, appointment refund"), NOW);
+        assertEquals(Arrays.asList(emergency), il.search("Emergency APPOINTMENT", true, 10));
+        assertEquals(Arrays.asList(emergency, routine), il.search("appointment hurry", false, 10).subList(0, 2));
+        assertEquals(3, il.search("appointment", true, 10).size());
+        assertEquals(2, il.search("appointment", true, 2).size());
+        assertTrue(il.search("appoint", true, 10).isEmpty());
+        assertTrue(il.search("appointment nothing", true, 10).isEmpty());
+        assertTrue(il.search("  ,. ", false, 10).isEmpty());
+    }
+
+    @Test
+    void testSearchAfterEditing() {
+        il.addInquiry(routine, NOW);
+        il.addInquiry(low, NOW);
+        low.setSubject("lost wallet");
+        routine.setRemarks("near the parking lot");
+        assertEquals(Arrays.asList(routine), il.search("parking", true, 10));
+        assertEquals(Arrays.asList(low), il.search("wallet", true, 10));
+        assertTrue(il.search("book", false, 10).contains(routine));
+    }
+
+    @Test
+    void testGetInquiriesBetween() {
+        il.addInquiry(routine, NOW);
+        il.addInquiry(emergency, NOW);
+        il.addInquiry(low, NOW);
+        il.addInquiry(new Inquiry("no date", "someday", ""), NOW);
+        int sep16 = InquiryDate.parse("2021-09-16");
+        assertEquals(Arrays.asList(low, routine, emergency),
+                il.getInquiriesBetween(Integer.MIN_VALUE, Integer.MAX_VALUE));
+        assertEquals(Arrays.asList(routine), il.getInquiriesBetween(sep16, sep16));
+        assertEquals(Arrays.asList(routine, emergency), il.getInquiriesInLastDays(90, sep16 + 64));
+        assertEquals(Arrays.asList(emergency), il.getInquiriesInLastDays(1, sep16 + 64));
+        assertTrue(il.getInquiriesInLastDays(0, sep16 + 64).isEmpty());
+        assertTrue(il.getInquiriesBetween(sep16 + 1, sep16 - 1).isEmpty());
+        routine.setDate("2020-12-31");
+        assertEquals(Arrays.asList(routine, low), il.getInquiriesInLastDays(10, sep16 - 250));
+    }
+
+    @Test
+    void testManyDates() {
+        int start = InquiryDate.parse("2021-01-01");
+        for (int i = 0; i < 10000; i++) {
+            il.addInquiry(new Inquiry("inquiry " + i, "", ""), NOW);
+            il.getInquiries().get(i).setDate(LocalDate.ofEpochDay(start + (i * 37) % 365).toString());
+        }
+        List<Inquiry> week = il.getInquiriesBetween(start + 100, start + 106);
+        assertEquals(7 * 10000 / 365, week.size(), 7);
+        for (int i = 1; i < week.size(); i++) {
+            assertTrue(week.get(i - 1).getDay() <= week.get(i).getDay());
+        }
     }
 }
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 public class InquiryTest {
     private Inquiry i;
@@ -28,8 +29,10 @@ public class InquiryTest {
 
     @Test
     void testSetDate() {
+        assertEquals(InquiryDate.UNDATED, i.getDay());
         i.setDate("January 4, 2021");
         assertEquals("January 4, 2021", i.getDate());
+        assertEquals(InquiryDate.parse("2021-01-04"), i.getDay());
     }
 
     @Test
@@ -37,4 +40,23 @@ public class InquiryTest {
         i.setRemarks("nothing else!");
         assertEquals("nothing else!", i.getRemarks());
     }
+
+    @Test
+    void testPriority() {
+        assertEquals(InquiryPriority.ROUTINE, i.getPriority());
+        i.setPriority(InquiryPriority.URGENT);
+        assertEquals(InquiryPriority.URGENT, i.getPriority());
+        assertFalse(i.isAnswered());
+        assertEquals(AppointmentTime.UNSCHEDULED, i.getFiledAt());
+    }
+
+    @Test
+    void testDeadline() {
+        InquiryList il = new InquiryList();
+        il.addInquiry(i, 1000);
+        assertEquals(1000, i.getFiledAt());
+        assertEquals(1000 + InquiryPriority.ROUTINE.getTargetMinutes(), i.getDeadline());
+        i.setPriority(InquiryPriority.EMERGENCY);
+        assertEquals(1015, i.getDeadline());
+    }
 }
@@ -0,0 +1,85 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalTreeTest {
+    private IntervalTree<String> tree;
+
+    @BeforeEach
+    void runBefore() {
+        tree = new IntervalTree<>();
+    }
+
+    @Test
+    void testEmpty() {
+        assertEquals(0, tree.size());
+        assertNull(tree.findOverlap(0, 100));
+        assertFalse(tree.remove(0, "nothing"));
+    }
+
+    @Test
+    void testFindOverlap() {
+        tree.insert(60, 90, "a");
+        tree.insert(120, 150, "b");
+        tree.insert(0, 30, "c");
+        assertEquals(3, tree.size());
+        assertEquals("a", tree.findOverlap(80, 100));
+        assertEquals("b", tree.findOverlap(100, 121));
+        assertEquals("c", tree.findOverlap(-10, 1));
+        assertNull(tree.findOverlap(30, 60));
+        assertNull(tree.findOverlap(90, 120));
+        assertNull(tree.findOverlap(150, 200));
+    }
+
+    @Test
+    void testRemove() {
+        String first = "first";
+        String second = "second";
+        tree.insert(60, 90, first);
+        tree.insert(60, 120, second);
+        assertFalse(tree.remove(60, "other"));
+        assertTrue(tree.remove(60, second));
+        assertNull(tree.findOverlap(90, 120));
+        assertEquals(first, tree.findOverlap(60, 61));
+        assertTrue(tree.remove(60, first));
+        assertEquals(0, tree.size());
+    }
+
+    @Test
+    void testAgainstScan() {
+        Random random = new Random(7);
+        List<long[]> intervals = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long start = random.nextInt(100000);
+            long end = start + 1 + random.nextInt(40);
+            String value = "v" + i;
+            tree.insert(start, end, value);
+            intervals.add(new long[]{start, end});
+            values.add(value);
+            if (random.nextInt(4) == 0) {
+                int k = random.nextInt(values.size());
+                assertTrue(tree.remove(intervals.get(k)[0], values.get(k)));
+                intervals.remove(k);
+                values.remove(k);
+            }
+        }
+        assertEquals(values.size(), tree.size());
+        for (int q = 0; q < 2000; q++) {
+            long start = random.nextInt(100000);
+            long end = start + 1 + random.nextInt(40);
+            boolean expected = false;
+            for (long[] interval : intervals) {
+                expected |= interval[0] < end && start < interval[1];
+            }
+            assertEquals(expected, tree.findOverlap(start, end) != null);
+        }
+    }
+}
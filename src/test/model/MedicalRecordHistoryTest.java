@@ -0,0 +1,87 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MedicalRecordHistoryTest {
+    private MedicalRecordList ml;
+    private MedicalRecord kyle;
+
+    @BeforeEach
+    void runBefore() {
+        ml = new MedicalRecordList();
+        kyle = new MedicalRecord("kyle", 18, 174, 80, "O-");
+        ml.addMedicalRecord(kyle);
+    }
+
+    @Test
+    void testKeepHistory() {
+        assertNull(ml.getHistory());
+        MedicalRecordHistory history = ml.keepHistory();
+        assertSame(history, ml.getHistory());
+        assertSame(history, ml.keepHistory());
+        assertEquals(0, history.currentVersion());
+        assertEquals(1, history.snapshot().size());
+        assertEquals("kyle", history.asOf(0).get(0).getName());
+        assertThrows(IllegalArgumentException.class, () -> history.asOf(1));
+    }
+
+    @Test
+    void testEditsMakeVersions() {
+        MedicalRecordHistory history = ml.keepHistory();
+        kyle.setAge(19);
+        kyle.setWeight(78);
+        ml.addMedicalRecord(new MedicalRecord("andie", 20, 120, 68, "A+"));
+        assertEquals(3, history.currentVersion());
+        assertEquals(18, history.asOf(0).get(0).getAge());
+        assertEquals(19, history.asOf(1).get(0).getAge());
+        assertEquals(80, history.asOf(1).get(0).getWeight());
+        assertEquals(78, history.asOf(2).get(0).getWeight());
+        assertEquals(1, history.asOf(2).size());
+        assertEquals(2, history.asOf(3).size());
+        assertEquals("andie", history.snapshot().get(1).getName());
+        assertEquals(3, history.snapshot().getVersion());
+    }
+
+    @Test
+    void testAddAllIsOneVersion() {
+        MedicalRecordHistory history = ml.keepHistory();
+        ml.addAll(Arrays.asList(new MedicalRecord("andie", 20, 120, 68, "A+"),
+                new MedicalRecord("jared", 30, 180, 70, "B")));
+        assertEquals(1, history.currentVersion());
+        assertEquals(3, history.snapshot().size());
+        assertEquals(BloodType.B, history.snapshot().get(2).getBloodType());
+    }
+
+    @Test
+    void testSnapshotsCannotBeChanged() {
+        List<MedicalRecord> snapshot = ml.keepHistory().snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.get(0).setName("andie"));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, kyle));
+        kyle.setName("andie");
+        assertEquals("kyle", snapshot.get(0).getName());
+    }
+
+    @Test
+    void testColumnarHistory() {
+        MedicalRecordList columnar = new MedicalRecordList(true);
+        columnar.addMedicalRecord(kyle);
+        MedicalRecordHistory history = columnar.keepHistory();
+        columnar.getMedicalRecords().get(0).setBloodType(BloodType.AB_POSITIVE);
+        assertEquals(BloodType.O_NEGATIVE, history.asOf(0).get(0).getBloodType());
+        assertEquals(BloodType.AB_POSITIVE, history.asOf(1).get(0).getBloodType());
+    }
+
+    @Test
+    void testStatisticsOfSnapshot() {
+        MedicalRecordHistory history = ml.keepHistory();
+        kyle.setHeight(200);
+        assertEquals(174, MedicalRecordStatistics.of(history.asOf(0)).getHeightPercentile(50));
+        assertEquals(200, MedicalRecordStatistics.of(history.snapshot()).getHeightPercentile(50));
+    }
+}
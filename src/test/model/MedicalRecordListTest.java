@@ -3,7 +3,12 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class MedicalRecordListTest {
     private MedicalRecordList ml;
@@ -24,6 +29,8 @@ public class MedicalRecordListTest {
     void testAddMedicalRecord() {
         ml.addMedicalRecord(m);
         assertEquals(1, ml.getMedicalRecords().size());
+        assertThrows(UnsupportedOperationException.class, () -> ml.getMedicalRecords().add(m));
+        assertThrows(UnsupportedOperationException.class, () -> ml.getMedicalRecords().remove(0));
     }
 
     @Test
@@ -31,4 +38,136 @@ public class MedicalRecordListTest {
         ml.addMedicalRecord(m);
         assertEquals(1, ml.length());
     }
+
+    @Test
+    void testAddAll() {
+        MedicalRecord kyle = new MedicalRecord("kyle", 18, 174, 80, "O");
+        ml.addMedicalRecord(m);
+        ml.addAll(Arrays.asList(kyle, new MedicalRecord("andie", 20, 120, 68, "A")));
+        assertEquals(3, ml.length());
+        assertEquals(kyle, ml.getMedicalRecords().get(1));
+    }
+
+    @Test
+    void testColumnar() {
+        MedicalRecordList columnar = new MedicalRecordList(true);
+        assertTrue(columnar.isColumnar());
+        assertFalse(ml.isColumnar());
+        for (int i = 0; i < 100; i++) {
+            columnar.addMedicalRecord(new MedicalRecord("patient" + i, i, 100 + i, 50 + i, i % 2 == 0 ? "O" : "A"));
+        }
+        assertEquals(100, columnar.length());
+        MedicalRecord view = columnar.getMedicalRecords().get(41);
+        assertEquals("patient41", view.getName());
+        assertEquals(41, view.getAge());
+        assertEquals(141, view.getHeight());
+        assertEquals(91, view.getWeight());
+        assertEquals(BloodType.A, view.getBloodType());
+        assertEquals(view, columnar.getMedicalRecords().get(41));
+        assertNotEquals(view, columnar.getMedicalRecords().get(42));
+    }
+
+    @Test
+    void testColumnarViewsWriteThrough() {
+        MedicalRecordList columnar = new MedicalRecordList(true);
+        columnar.addAll(Arrays.asList(m, new MedicalRecord("kyle", 18, 174, 80, "O")));
+        MedicalRecord view = columnar.getMedicalRecords().get(1);
+        view.setName("andie");
+        view.setAge(20);
+        view.setHeight(120);
+        view.setWeight(68);
+        view.setBloodType(BloodType.AB);
+
+        MedicalRecord reread = columnar.getMedicalRecords().get(1);
+        assertEquals("andie", reread.getName());
+        assertEquals(20, reread.getAge());
+        assertEquals(120, reread.getHeight());
+        assertEquals(68, reread.getWeight());
+        assertEquals(BloodType.AB, reread.getBloodType());
+        assertEquals(BloodType.UNKNOWN, columnar.getMedicalRecords().get(0).getBloodType());
+        assertEquals("andie", columnar.toJson().getJSONArray("medical records").getJSONObject(1).getString("name"));
+    }
+
+    // EFFECTS: returns the names of records, in order
+    private List<String> namesOf(List<MedicalRecord> records) {
+        List<String> names = new ArrayList<>();
+        for (MedicalRecord r : records) {
+            names.add(r.getName());
+        }
+        return names;
+    }
+
+    // MODIFIES: list
+    // EFFECTS: adds records aged 60, 30, 18 and 45 with blood types O-, A+, O- and AB to list
+    private void addDonors(MedicalRecordList list) {
+        list.addAll(Arrays.asList(new MedicalRecord("kyle", 60, 174, 80, "O-"),
+                new MedicalRecord("andie", 30, 120, 68, "A+"),
+                new MedicalRecord("jared", 18, 180, 70, "o neg"),
+                new MedicalRecord("sam", 45, 160, 55, "AB")));
+    }
+
+    @Test
+    void testFind() {
+        addDonors(ml);
+        assertEquals(Arrays.asList("jared", "kyle"),
+                namesOf(ml.find(EnumSet.of(BloodType.O_NEGATIVE), 0, 100, 10)));
+        assertEquals(Arrays.asList("jared", "andie", "sam"),
+                namesOf(ml.find(EnumSet.allOf(BloodType.class), 18, 45, 10)));
+        assertEquals(Arrays.asList("jared"), namesOf(ml.find(EnumSet.allOf(BloodType.class), 0, 100, 1)));
+        assertTrue(ml.find(EnumSet.of(BloodType.B_POSITIVE), 0, 100, 10).isEmpty());
+        assertEquals(2, ml.count(EnumSet.of(BloodType.O_NEGATIVE, BloodType.AB), 40, Integer.MAX_VALUE));
+        assertEquals(4, ml.count(EnumSet.allOf(BloodType.class), Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testFindDonors() {
+        addDonors(ml);
+        assertEquals(Arrays.asList("jared", "kyle"), namesOf(ml.findDonors(BloodType.O_NEGATIVE, 18, 65, 10)));
+        assertEquals(Arrays.asList("jared", "andie", "sam", "kyle"),
+                namesOf(ml.findDonors(BloodType.AB_POSITIVE, 18, 65, 10)));
+        assertEquals(Arrays.asList("jared"), namesOf(ml.findDonors(BloodType.O_NEGATIVE, 18, 50, 10)));
+    }
+
+    @Test
+    void testFindAfterChange() {
+        addDonors(ml);
+        MedicalRecord kyle = ml.getMedicalRecords().get(0);
+        kyle.setAge(20);
+        kyle.setBloodType(BloodType.B_POSITIVE);
+        assertEquals(Arrays.asList("jared"), namesOf(ml.findDonors(BloodType.O_NEGATIVE, 18, 65, 10)));
+        assertEquals(Arrays.asList("kyle"), namesOf(ml.find(EnumSet.of(BloodType.B_POSITIVE), 19, 21, 10)));
+    }
+
+    @Test
+    void testColumnarFind() {
+        MedicalRecordList columnar = new MedicalRecordList(true);
+        addDonors(columnar);
+        assertEquals(Arrays.asList("jared", "kyle"), namesOf(columnar.findDonors(BloodType.O_NEGATIVE, 18, 65, 10)));
+        columnar.getMedicalRecords().get(2).setAge(70);
+        columnar.getMedicalRecords().get(1).setBloodType(BloodType.O_NEGATIVE);
+        assertEquals(Arrays.asList("andie", "kyle"), namesOf(columnar.findDonors(BloodType.O_NEGATIVE, 18, 65, 10)));
+        assertEquals(3, columnar.count(EnumSet.of(BloodType.O_NEGATIVE), 0, 100));
+    }
+
+    @Test
+    void testFindManyRecords() {
+        List<MedicalRecord> records = new ArrayList<>();
+        BloodType[] types = BloodType.values();
+        for (int i = 0; i < 10000; i++) {
+            records.add(new MedicalRecord("patient" + i, (i * 37) % 90, 170, 70, types[i % types.length]));
+        }
+        ml.addAll(records);
+        int expected = 0;
+        for (MedicalRecord r : records) {
+            if (r.getBloodType().canDonateTo(BloodType.A_NEGATIVE) && r.getAge() >= 18 && r.getAge() <= 65) {
+                expected++;
+            }
+        }
+        assertEquals(expected, ml.count(BloodType.donorsFor(BloodType.A_NEGATIVE), 18, 65));
+        List<MedicalRecord> found = ml.findDonors(BloodType.A_NEGATIVE, 18, 65, expected + 1);
+        assertEquals(expected, found.size());
+        for (int i = 1; i < found.size(); i++) {
+            assertTrue(found.get(i - 1).getAge() <= found.get(i).getAge());
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package model;
+
+import model.MedicalRecordStatistics.BmiCategory;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MedicalRecordStatisticsTest {
+
+    // EFFECTS: returns a list holding n records with ages 0 to n - 1, heights 100 to 199 and weights 40 to 139 in
+    //          turn, and blood types O and A in turn
+    private MedicalRecordList makeList(boolean columnar, int n) {
+        List<MedicalRecord> records = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            records.add(new MedicalRecord("patient" + i, i, 100 + i % 100, 40 + i % 100, i % 2 == 0 ? "O" : "A"));
+        }
+        MedicalRecordList ml = new MedicalRecordList(columnar);
+        ml.addAll(records);
+        return ml;
+    }
+
+    @Test
+    void testEmpty() {
+        MedicalRecordStatistics stats = new MedicalRecordList().statistics();
+        assertEquals(0, stats.getCount());
+        assertTrue(stats.getBloodTypeCounts().isEmpty());
+        assertEquals(0, stats.getMeanHeight());
+        assertEquals(0, stats.getHeightPercentile(50));
+    }
+
+    @Test
+    void testSmallList() {
+        MedicalRecordStatistics stats = makeList(false, 100).statistics();
+        assertEquals(100, stats.getCount());
+        assertEquals(50, (long) stats.getBloodTypeCounts().get(BloodType.O));
+        assertEquals(50, (long) stats.getBloodTypeCounts().get(BloodType.A));
+        assertEquals(149.5, stats.getMeanHeight(), 1e-9);
+        assertEquals(89.5, stats.getMeanWeight(), 1e-9);
+        assertEquals(149, stats.getHeightPercentile(50));
+        assertEquals(189, stats.getHeightPercentile(90));
+        assertEquals(100, stats.getHeightPercentile(0));
+        assertEquals(139, stats.getWeightPercentile(100));
+        long[] ages = stats.getAgeHistogram();
+        assertEquals(MedicalRecordStatistics.AGE_BUCKETS, ages.length);
+        assertEquals(10, ages[0]);
+        assertEquals(10, ages[9]);
+        assertEquals(0, ages[10]);
+    }
+
+    @Test
+    void testColumnarMatchesObjects() {
+        int n = 300000;
+        MedicalRecordStatistics objects = makeList(false, n).statistics();
+        MedicalRecordStatistics columns = makeList(true, n).statistics();
+        assertEquals(n, columns.getCount());
+        assertEquals(objects.getBloodTypeCounts(), columns.getBloodTypeCounts());
+        assertArrayEquals(objects.getAgeHistogram(), columns.getAgeHistogram());
+        assertEquals(objects.getMeanWeight(), columns.getMeanWeight(), 1e-9);
+        assertEquals(objects.getWeightPercentile(99), columns.getWeightPercentile(99));
+        for (BmiCategory c : BmiCategory.values()) {
+            assertEquals(objects.getBmiCount(c), columns.getBmiCount(c));
+        }
+        assertEquals(n - 100, columns.getAgeHistogram()[MedicalRecordStatistics.AGE_BUCKETS - 1]);
+    }
+
+    @Test
+    void testBmiCategory() {
+        assertEquals(BmiCategory.UNDERWEIGHT, MedicalRecordStatistics.bmiCategory(180, 50));
+        assertEquals(BmiCategory.NORMAL, MedicalRecordStatistics.bmiCategory(180, 70));
+        assertEquals(BmiCategory.OVERWEIGHT, MedicalRecordStatistics.bmiCategory(180, 90));
+        assertEquals(BmiCategory.OBESE, MedicalRecordStatistics.bmiCategory(180, 100));
+        assertEquals(BmiCategory.UNKNOWN, MedicalRecordStatistics.bmiCategory(0, 70));
+    }
+
+    @Test
+    void testBmiCounts() {
+        MedicalRecordList ml = new MedicalRecordList();
+        ml.addMedicalRecord(new MedicalRecord("kyle", 18, 174, 80, "O"));
+        ml.addMedicalRecord(new MedicalRecord("andie", 20, 170, 60, "A"));
+        ml.addMedicalRecord(new MedicalRecord("", 0, 0, 0, ""));
+        MedicalRecordStatistics stats = ml.statistics();
+        assertEquals(1, stats.getBmiCount(BmiCategory.OVERWEIGHT));
+        assertEquals(1, stats.getBmiCount(BmiCategory.NORMAL));
+        assertEquals(1, stats.getBmiCount(BmiCategory.UNKNOWN));
+        assertEquals(0, stats.getBmiCount(BmiCategory.OBESE));
+        assertEquals(1, (long) stats.getBloodTypeCounts().get(BloodType.UNKNOWN));
+    }
+}
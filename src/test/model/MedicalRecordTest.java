@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class MedicalRecordTest {
     private MedicalRecord m;
@@ -19,7 +20,7 @@ public class MedicalRecordTest {
         assertEquals(0, m.getAge());
         assertEquals(0, m.getHeight());
         assertEquals(0, m.getWeight());
-        assertEquals("", m.getBloodType());
+        assertEquals(BloodType.UNKNOWN, m.getBloodType());
     }
 
     @Test
@@ -48,7 +49,14 @@ public class MedicalRecordTest {
 
     @Test
     void testSetBloodType() {
-        m.setBloodType("O");
-        assertEquals("O", m.getBloodType());
+        m.setBloodType(BloodType.O_NEGATIVE);
+        assertEquals(BloodType.O_NEGATIVE, m.getBloodType());
+        m.setBloodType(null);
+        assertEquals(BloodType.UNKNOWN, m.getBloodType());
+    }
+
+    @Test
+    void testInvalidBloodType() {
+        assertThrows(IllegalArgumentException.class, () -> new MedicalRecord("kyle", 18, 174, 80, "Q+"));
     }
 }
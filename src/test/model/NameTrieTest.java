@@ -0,0 +1,69 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NameTrieTest {
+    private NameTrie<String> trie;
+
+    @BeforeEach
+    void runBefore() {
+        trie = new NameTrie<>();
+        for (String name : new String[]{"Kyle", "kylie", "Kay", "Andie", "andrew", "Greg", "Sandy", "kyle"}) {
+            trie.add(name, name);
+        }
+    }
+
+    @Test
+    void testSearchIgnoresCase() {
+        assertEquals(Arrays.asList("Kyle", "kyle", "kylie"), trie.search("KYL", 10));
+        assertEquals(Arrays.asList("Andie", "andrew"), trie.search("and", 10));
+        assertEquals(Arrays.asList("Sandy"), trie.search("sandy", 10));
+        assertTrue(trie.search("sandyx", 10).isEmpty());
+        assertTrue(trie.search("z", 10).isEmpty());
+    }
+
+    @Test
+    void testSearchTopK() {
+        assertEquals(Arrays.asList("Kay", "Kyle"), trie.search("k", 2));
+        assertEquals(8, trie.search("", 100).size());
+        assertEquals(Arrays.asList("Andie", "andrew", "Greg"), trie.search("", 3));
+        assertTrue(trie.search("k", 0).isEmpty());
+    }
+
+    @Test
+    void testRemove() {
+        trie.remove("kyle", "Kyle");
+        assertEquals(Arrays.asList("kyle", "kylie"), trie.search("ky", 10));
+        trie.remove("kyle", "kyle");
+        trie.remove("kylie", "kylie");
+        assertTrue(trie.search("ky", 10).isEmpty());
+        assertEquals(Arrays.asList("Kay"), trie.search("k", 10));
+
+        trie.remove("kay", "not there");
+        trie.remove("nobody", "nobody");
+        assertEquals(Arrays.asList("Kay"), trie.search("k", 10));
+    }
+
+    @Test
+    void testRemoveAndReAdd() {
+        for (String name : new String[]{"Kyle", "kylie", "Kay", "Andie", "andrew", "Greg", "Sandy", "kyle"}) {
+            trie.remove(name, name);
+        }
+        assertTrue(trie.search("", 10).isEmpty());
+        trie.add("andie", "andie");
+        trie.add("an", "an");
+        trie.add("", "empty");
+        List<String> all = trie.search("", 10);
+        assertEquals(Arrays.asList("empty", "an", "andie"), all);
+        trie.remove("", "empty");
+        trie.remove("an", "an");
+        assertEquals(Arrays.asList("andie"), trie.search("a", 10));
+    }
+}
@@ -0,0 +1,92 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PatientIdMapTest {
+    private PatientIdMap map;
+    private Patient p;
+
+    @BeforeEach
+    void runBefore() {
+        map = new PatientIdMap();
+        p = new Patient("kyle", 1234);
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(0, map.size());
+        assertNull(map.get(0));
+        assertEquals(-1, map.nextSlot(0));
+    }
+
+    @Test
+    void testPutAndGet() {
+        assertNull(map.put(1234, p));
+        assertEquals(p, map.get(1234));
+        assertEquals(1, map.size());
+
+        Patient andie = new Patient("andie", 1234);
+        assertEquals(p, map.put(1234, andie));
+        assertEquals(andie, map.get(1234));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void testRemove() {
+        map.put(1234, p);
+        assertNull(map.remove(2345));
+        assertFalse(map.remove(1234, new Patient("andie", 1234)));
+        assertEquals(1, map.size());
+        assertTrue(map.remove(1234, p));
+        assertEquals(0, map.size());
+        assertNull(map.get(1234));
+        assertNull(map.remove(1234));
+    }
+
+    @Test
+    void testAgainstHashMap() {
+        Map<Integer, Patient> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int id = random.nextInt(5000) - 2500;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(id), map.remove(id));
+            } else {
+                Patient patient = new Patient("patient" + i, id);
+                assertEquals(expected.put(id, patient), map.put(id, patient));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (int id = -2500; id < 2500; id++) {
+            assertEquals(expected.get(id), map.get(id));
+        }
+    }
+
+    @Test
+    void testIteration() {
+        map.ensureCapacity(100);
+        for (int i = 0; i < 100; i++) {
+            map.put(i * 16, new Patient("patient" + i, i * 16));
+        }
+        int count = 0;
+        long sum = 0;
+        for (int s = map.nextSlot(0); s >= 0; s = map.nextSlot(s + 1)) {
+            assertEquals(map.keyAt(s), map.valueAt(s).getId());
+            sum += map.keyAt(s);
+            count++;
+        }
+        assertEquals(100, count);
+        assertEquals(16 * 4950, sum);
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertEquals(-1, map.nextSlot(0));
+    }
+}
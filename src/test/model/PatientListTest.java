@@ -4,6 +4,8 @@ import model.exceptions.EmptyListException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class PatientListTest {
@@ -51,4 +53,102 @@ public class PatientListTest {
         pl.addPatient(p);
         assertEquals(1, pl.length());
     }
+
+    @Test
+    void testFindByNameAndId() {
+        Patient kyle = new Patient("kyle", 1234);
+        pl.addPatient(p);
+        pl.addPatient(kyle);
+        assertEquals(kyle, pl.findByName("kyle"));
+        assertEquals(kyle, pl.findById(1234));
+        assertEquals(p, pl.findById(0));
+        assertNull(pl.findByName("andie"));
+        assertNull(pl.findById(2345));
+    }
+
+    @Test
+    void testRemoveById() throws EmptyListException {
+        try {
+            pl.removeById(0);
+            fail("Exception should have been thrown");
+        } catch (EmptyListException e) {
+            // nothing
+        }
+
+        Patient kyle = new Patient("kyle", 1234);
+        pl.addPatient(p);
+        pl.addPatient(kyle);
+        pl.removeById(1234);
+        assertEquals(1, pl.length());
+        assertFalse(pl.getPatients().contains(kyle));
+        assertNull(pl.findByName("kyle"));
+
+        pl.removeById(9999);
+        assertEquals(1, pl.length());
+    }
+
+    @Test
+    void testRemoveKeepsOrder() throws EmptyListException {
+        for (int i = 0; i < 10; i++) {
+            pl.addPatient(new Patient("patient" + i, i));
+        }
+        pl.removePatient("patient3");
+        pl.removeById(7);
+        assertEquals(8, pl.length());
+        assertEquals("patient2", pl.getPatients().get(2).getName());
+        assertEquals("patient4", pl.getPatients().get(3).getName());
+        assertEquals("patient9", pl.getPatients().get(7).getName());
+        for (int i = 0; i < 8; i++) {
+            pl.removeById(pl.getPatients().get(0).getId());
+        }
+        assertEquals(0, pl.length());
+    }
+
+    @Test
+    void testIndexesFollowSetters() throws EmptyListException {
+        pl.addPatient(p);
+        p.setName("kyle");
+        p.setId(1234);
+        assertNull(pl.findByName(""));
+        assertNull(pl.findById(0));
+        assertEquals(p, pl.findByName("kyle"));
+        assertEquals(p, pl.findById(1234));
+
+        pl.removePatient("kyle");
+        assertEquals(0, pl.length());
+        p.setName("andie");
+        assertNull(pl.findByName("andie"));
+    }
+
+    @Test
+    void testSearchByName() throws EmptyListException {
+        pl.addPatient(new Patient("Kyle", 1234));
+        pl.addPatient(new Patient("kylie", 2345));
+        pl.addPatient(new Patient("Andie", 3456));
+        assertEquals(2, pl.searchByName("KY", 10).size());
+        assertEquals("Kyle", pl.searchByName("ky", 1).get(0).getName());
+
+        pl.removePatient("Kyle");
+        assertEquals("kylie", pl.searchByName("ky", 10).get(0).getName());
+        pl.findByName("Andie").setName("Kylo");
+        assertEquals(2, pl.searchByName("ky", 10).size());
+        assertTrue(pl.searchByName("and", 10).isEmpty());
+    }
+
+    @Test
+    void testAddAll() {
+        Patient kyle = new Patient("kyle", 1234);
+        pl.addPatient(p);
+        pl.addAll(Arrays.asList(kyle, new Patient("andie", 2345)));
+        assertEquals(3, pl.length());
+        assertEquals(kyle, pl.getPatients().get(1));
+        assertEquals(kyle, pl.findById(1234));
+        assertEquals("andie", pl.findByName("andie").getName());
+
+        Event last = null;
+        for (Event e : EventLog.getInstance()) {
+            last = e;
+        }
+        assertEquals("2 patients have been added to list of patients.", last.getDescription());
+    }
 }
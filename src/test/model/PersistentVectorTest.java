@@ -0,0 +1,64 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PersistentVectorTest {
+
+    @Test
+    void testEmpty() {
+        PersistentVector<String> v = PersistentVector.empty();
+        assertEquals(0, v.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> v.get(0));
+    }
+
+    @Test
+    void testAppendAndGet() {
+        PersistentVector<Integer> v = PersistentVector.empty();
+        for (int i = 0; i < 40000; i++) {
+            v = v.append(i, null);
+        }
+        assertEquals(40000, v.size());
+        for (int i = 0; i < 40000; i += 7) {
+            assertEquals(i, (int) v.get(i));
+        }
+        PersistentVector<Integer> full = v;
+        assertThrows(IndexOutOfBoundsException.class, () -> full.get(40000));
+        assertThrows(IndexOutOfBoundsException.class, () -> full.set(-1, 0, null));
+    }
+
+    @Test
+    void testOldVersionsUnchanged() {
+        PersistentVector<String> v1 = PersistentVector.<String>empty().append("a", null).append("b", null);
+        PersistentVector<String> v2 = v1.set(0, "c", null);
+        PersistentVector<String> v3 = v2.append("d", null);
+        assertEquals("a", v1.get(0));
+        assertEquals(2, v1.size());
+        assertEquals("c", v2.get(0));
+        assertEquals(2, v2.size());
+        assertEquals("d", v3.get(2));
+        assertEquals("b", v3.get(1));
+    }
+
+    @Test
+    void testBatchEditsLeaveEarlierVersionsUnchanged() {
+        PersistentVector<Integer> before = PersistentVector.empty();
+        for (int i = 0; i < 1000; i++) {
+            before = before.append(i, null);
+        }
+        Object edit = new Object();
+        PersistentVector<Integer> after = before;
+        for (int i = 0; i < 2000; i++) {
+            after = after.append(-i, edit);
+        }
+        after = after.set(5, 500, edit).set(1500, 42, edit);
+        assertEquals(1000, before.size());
+        assertEquals(5, (int) before.get(5));
+        assertEquals(999, (int) before.get(999));
+        assertEquals(3000, after.size());
+        assertEquals(500, (int) after.get(5));
+        assertEquals(42, (int) after.get(1500));
+        assertEquals(-1999, (int) after.get(2999));
+    }
+}
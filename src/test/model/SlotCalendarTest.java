@@ -0,0 +1,79 @@
+package model;
+
+import model.exceptions.DoubleBookingException;
+import model.exceptions.EmptyListException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SlotCalendarTest {
+    private static final long DAY = LocalDate.of(2021, 11, 18).toEpochDay();
+    private static final long MIDNIGHT = DAY * 24 * 60;
+
+    private AppointmentList al;
+    private SlotCalendar calendar;
+    private Doctor doctor;
+    private Doctor other;
+
+    @BeforeEach
+    void runBefore() {
+        al = new AppointmentList();
+        calendar = al.getCalendar();
+        doctor = new Doctor("Mika Pascual", "Cardiology");
+        other = new Doctor("Toni O'Brien", "Cardiology");
+    }
+
+    @Test
+    void testEmptyCalendar() {
+        assertEquals(MIDNIGHT + 10, calendar.nextFreeSlot(doctor, MIDNIGHT + 7, 60));
+        assertEquals(SlotCalendar.SLOTS_PER_DAY, SlotCalendar.countFree(calendar.freeSlots(doctor, DAY)));
+    }
+
+    @Test
+    void testNextFreeSlot() throws DoubleBookingException {
+        al.addAppointment(new Appointment("kyle", "2021-11-18 9:00 am", doctor, 30));
+        al.addAppointment(new Appointment("andie", "2021-11-18 9:45 am", doctor, 60));
+        long nine = MIDNIGHT + 9 * 60;
+
+        assertEquals(nine + 30, calendar.nextFreeSlot(doctor, nine, 15));
+        assertEquals(nine + 105, calendar.nextFreeSlot(doctor, nine, 20));
+        assertEquals(nine, calendar.nextFreeSlot(other, nine, 20));
+        assertEquals(SlotCalendar.SLOTS_PER_DAY - 18, SlotCalendar.countFree(calendar.freeSlots(doctor, DAY)));
+    }
+
+    @Test
+    void testNextFreeSlotAcrossDays() throws DoubleBookingException {
+        al.addAppointment(new Appointment("kyle", "2021-11-18 0:00", doctor, 24 * 60 - 10));
+        al.addAppointment(new Appointment("andie", "2021-11-19 0:05", doctor, 30));
+        assertEquals(MIDNIGHT + 24 * 60 + 35, calendar.nextFreeSlot(doctor, MIDNIGHT, 30));
+        assertEquals(MIDNIGHT + 24 * 60 - 10, calendar.nextFreeSlot(doctor, MIDNIGHT, 10));
+    }
+
+    @Test
+    void testReleaseKeepsSharedSlots() throws DoubleBookingException, EmptyListException {
+        al.addAppointment(new Appointment("kyle", "2021-11-18 9:00 am", doctor, 12));
+        al.addAppointment(new Appointment("andie", "2021-11-18 9:12 am", doctor, 13));
+        long nine = MIDNIGHT + 9 * 60;
+        assertEquals(nine + 25, calendar.nextFreeSlot(doctor, nine, 5));
+
+        al.removeAppointment("kyle");
+        assertEquals(nine, calendar.nextFreeSlot(doctor, nine, 5));
+        assertEquals(nine + 25, calendar.nextFreeSlot(doctor, nine, 15));
+        al.removeAppointment("andie");
+        assertEquals(nine, calendar.nextFreeSlot(doctor, nine, 30));
+    }
+
+    @Test
+    void testFreeSlotsForDepartment() throws DoubleBookingException {
+        al.addAppointment(new Appointment("kyle", "2021-11-18 9:00 am", doctor, 60));
+        al.addAppointment(new Appointment("andie", "2021-11-18 9:30 am", other, 60));
+        long[] free = calendar.freeSlots(Arrays.asList(doctor, other), DAY);
+        assertEquals(SlotCalendar.SLOTS_PER_DAY - 6, SlotCalendar.countFree(free));
+        int nineThirty = (9 * 60 + 30) / SlotCalendar.SLOT_MINUTES;
+        assertEquals(0, free[nineThirty / 64] & (1L << nineThirty));
+    }
+}
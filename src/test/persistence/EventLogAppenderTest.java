@@ -0,0 +1,96 @@
+package persistence;
+
+import model.EntityKind;
+import model.Event;
+import model.EventLog;
+import model.EventType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogAppenderTest {
+    @TempDir
+    Path directory;
+    private EventLog log;
+
+    @BeforeEach
+    void runBefore() {
+        log = new EventLog(16, EventLog.OverflowPolicy.DROP_OLDEST, null);
+    }
+
+    @Test
+    void testAppendAndReplay() throws IOException {
+        EventLogAppender appender = new EventLogAppender(directory, 10, 1 << 20);
+        appender.start(log);
+        log.logEvent(new Event(EventType.ADDED, EntityKind.PATIENT, 1234));
+        log.logEvent(new Event("free text"));
+        appender.close();
+        log.logEvent(new Event("after closing"));
+
+        List<Event> events = new EventLogReader(directory).read();
+        assertEquals(2, events.size());
+        assertEquals("Patient 1234 has been added to list of patients.", events.get(0).getDescription());
+        assertEquals("free text", events.get(1).getDescription());
+        assertEquals(0, appender.getFailedBatches());
+    }
+
+    @Test
+    void testManyThreadsAndSegments() throws IOException, InterruptedException {
+        EventLogAppender appender = new EventLogAppender(directory, 1, 4096);
+        appender.start(log);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    log.logEvent(new Event(EventType.ADDED, EntityKind.APPOINTMENT, i));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        appender.close();
+
+        List<Event> events = new EventLogReader(directory).read();
+        assertEquals(8000, events.size());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() > 1);
+        }
+    }
+
+    @Test
+    void testRestartAndTornLine() throws IOException {
+        EventLogAppender first = new EventLogAppender(directory, 10, 1 << 20);
+        first.start(log);
+        log.logEvent(new Event("before restart"));
+        first.close();
+        Files.write(directory.resolve(EventLogReader.segmentName(1)), "{\"type\":\"NO".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        EventLogAppender second = new EventLogAppender(directory, 10, 1 << 20);
+        second.start(log);
+        log.logEvent(new Event("after restart"));
+        second.close();
+
+        assertTrue(Files.exists(directory.resolve(EventLogReader.segmentName(2))));
+        List<Event> events = new EventLogReader(directory).read();
+        assertEquals(2, events.size());
+        assertEquals("after restart", events.get(1).getDescription());
+    }
+
+    @Test
+    void testReadMissingDirectory() throws IOException {
+        assertTrue(new EventLogReader(directory.resolve("none")).read().isEmpty());
+    }
+}
@@ -1,12 +1,19 @@
 package persistence;
 
 import model.*;
+import model.exceptions.DoubleBookingException;
+import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 // This test borrows heavily from the test provided in JSonSerializationDemo.
@@ -56,6 +63,43 @@ public class JsonReaderTest extends JsonTest {
         }
     }
 
+    @Test
+    void testReaderEmptyDoctorList() {
+        JsonReader reader = new JsonReader("./data/testReaderEmptyDoctorList.json");
+        try {
+            DoctorList dl = reader.readDoctorList();
+            assertEquals(0, dl.length());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderGeneralDoctorList() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralDoctorList.json");
+        try {
+            DoctorList dl = reader.readDoctorList();
+            assertEquals(3, dl.length());
+            assertEquals("Toni O'Brien", dl.getDoctors().get(1).getDoctorName());
+            assertEquals(2, dl.getDoctorsIn("Cardiology").size());
+            assertEquals("Pediatrics", dl.findByName("Toni O'Brien").getDepartment());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderDoctorDirectory() {
+        JsonReader reader = new JsonReader("./data/doctors.json");
+        try {
+            DoctorList dl = reader.readDoctorList();
+            assertEquals(9, dl.length());
+            assertEquals("Cardiology", dl.findByName("Mika Pascual").getDepartment());
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
     @Test
     void testReaderGeneralMedicalRecord() {
         JsonReader reader = new JsonReader("./data/testReaderGeneralMedicalRecordList.json");
@@ -97,4 +141,76 @@ public class JsonReaderTest extends JsonTest {
             fail("Couldn't read from file");
         }
     }
+
+    @Test
+    void testReaderColumnarMedicalRecord() {
+        JsonReader reader = new JsonReader("./data/testReaderGeneralMedicalRecordList.json");
+        try {
+            MedicalRecordList ml = reader.readMedicalRecordList(true);
+            List<MedicalRecord> records = ml.getMedicalRecords();
+            assertEquals(2, ml.length());
+            checkMedicalRecord("kyle", 18, 174, 80, "O", records.get(0));
+            checkMedicalRecord("andie", 20, 120, 68, "A", records.get(1));
+        } catch (IOException e) {
+            fail("Couldn't read from file");
+        }
+    }
+
+    @Test
+    void testReaderStreamsLargeFile() throws IOException {
+        Path file = Files.createTempFile("patients", ".json");
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("{\n  \"version\": {\"format\": [1, 2]},\n  \"patients\": [\n");
+            for (int i = 0; i < 100000; i++) {
+                writer.write((i == 0 ? "" : ",\n") + "    {\"name\": \"patient " + i + "\", \"id\": " + i + "}");
+            }
+            writer.write("\n  ],\n  \"comment\": \"ignored\"\n}\n");
+        }
+        try {
+            PatientList pl = new JsonReader(file.toString()).readPatientList();
+            assertEquals(100000, pl.length());
+            assertEquals("patient 99999", pl.findById(99999).getName());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testReaderKeepsResolvedTime() throws IOException, DoubleBookingException {
+        Path file = Files.createTempFile("appointments", ".json");
+        try {
+            AppointmentList al = new AppointmentList();
+            al.addAppointment(new Appointment("Kyle", "9:30 am", null, 45));
+            al.addAppointment(new Appointment("Andie", "sometime", null, 45));
+            JsonWriter writer = new JsonWriter(file.toString());
+            writer.open();
+            writer.writeAppointmentList(al);
+            writer.close();
+            // a time of day is read back on the day it was booked, not on the day the file is read
+            String text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            Files.write(file, text.replace(AppointmentTime.format(al.getAppointments().get(0).getStartMinute()),
+                    "2021-11-18 09:30").getBytes(StandardCharsets.UTF_8));
+
+            List<Appointment> read = new JsonReader(file.toString()).readAppointmentList().getAppointments();
+            checkAppointment("Kyle", "9:30 am", read.get(0));
+            assertEquals(AppointmentTime.parse("2021-11-18 9:30 am"), read.get(0).getStartMinute());
+            assertEquals(AppointmentTime.UNSCHEDULED, read.get(1).getStartMinute());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testReaderMalformedFile() throws IOException {
+        Path file = Files.createTempFile("doctors", ".json");
+        try {
+            Files.write(file, "{\"doctors\": [{\"name\": \"a\", \"department\": \"b\"} 3]}".getBytes(
+                    StandardCharsets.UTF_8));
+            assertThrows(JSONException.class, () -> new JsonReader(file.toString()).readDoctorList());
+            Files.write(file, "{\"patients\": []}".getBytes(StandardCharsets.UTF_8));
+            assertThrows(JSONException.class, () -> new JsonReader(file.toString()).readDoctorList());
+        } finally {
+            Files.delete(file);
+        }
+    }
 }
@@ -0,0 +1,138 @@
+package persistence;
+
+import model.*;
+import model.exceptions.DoubleBookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonSnapshotTest extends JsonTest {
+    @TempDir
+    Path directory;
+    private JsonSnapshot snapshot;
+    private AppointmentList al;
+    private MedicalRecordList ml;
+    private PatientList pl;
+    private DoctorList dl;
+
+    @BeforeEach
+    void runBefore() throws IOException, DoubleBookingException {
+        snapshot = new JsonSnapshot(directory.toString());
+        dl = new DoctorList();
+        Doctor mika = new Doctor("Mika Pascual", "Cardiology");
+        dl.addDoctor(mika);
+        al = new AppointmentList();
+        al.addAppointment(new Appointment("Kyle", "2021-11-18 9:30 am", mika, 45));
+        ml = new MedicalRecordList();
+        ml.addMedicalRecord(new MedicalRecord("Kyle", 18, 174, 80, "O"));
+        pl = new PatientList();
+        pl.addPatient(new Patient("Kyle", 1234));
+    }
+
+    @Test
+    void testNothingSaved() {
+        try {
+            JsonSnapshot.Generation saved = snapshot.current();
+            assertEquals(0, saved.getNumber());
+            saved.reader(JsonSnapshot.PATIENTS).readPatientList();
+            fail("IOException was expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testSaveAndLoad() throws IOException {
+        assertEquals(1, snapshot.save(al, ml, pl, dl));
+
+        JsonSnapshot.Generation saved = snapshot.current();
+        assertEquals(1, saved.getNumber());
+        DoctorList doctors = saved.reader(JsonSnapshot.DOCTORS).readDoctorList();
+        AppointmentList appointments = saved.reader(JsonSnapshot.APPOINTMENTS).readAppointmentList(doctors);
+        assertEquals(1, doctors.length());
+        checkAppointment("Kyle", "2021-11-18 9:30 am", appointments.getAppointments().get(0));
+        assertEquals(doctors.getDoctors().get(0), appointments.getAppointments().get(0).getDoctor());
+        assertEquals(1, saved.reader(JsonSnapshot.MEDICAL_RECORDS).readMedicalRecordList().length());
+        checkPatient("Kyle", 1234, saved.reader(JsonSnapshot.PATIENTS).readPatientList().getPatients().get(0));
+        assertFalse(Files.exists(directory.resolve(JsonSnapshot.MANIFEST + ".tmp")));
+    }
+
+    @Test
+    void testLoadWithoutManifest() throws IOException {
+        JsonWriter writer = new JsonWriter(directory.resolve("patients.json").toString());
+        writer.open();
+        writer.writePatientList(pl);
+        writer.close();
+
+        PatientList patients = snapshot.current().reader(JsonSnapshot.PATIENTS).readPatientList();
+        checkPatient("Kyle", 1234, patients.getPatients().get(0));
+    }
+
+    @Test
+    void testOlderGenerationsDeleted() throws IOException {
+        snapshot.save(al, ml, pl, dl);
+        snapshot.save(al, ml, pl, dl);
+        pl.addPatient(new Patient("Andie", 2345));
+        assertEquals(3, snapshot.save(al, ml, pl, dl));
+
+        assertFalse(Files.exists(directory.resolve(JsonSnapshot.fileName(JsonSnapshot.PATIENTS, 1))));
+        assertTrue(Files.exists(directory.resolve(JsonSnapshot.fileName(JsonSnapshot.PATIENTS, 2))));
+        assertEquals(2, snapshot.current().reader(JsonSnapshot.PATIENTS).readPatientList().length());
+    }
+
+    @Test
+    void testOlderGenerationNotDeleted() throws IOException {
+        snapshot.save(al, ml, pl, dl);
+        snapshot.save(al, ml, pl, dl);
+        // a file of generation 1 that cannot be deleted: the save is committed all the same
+        Path stuck = directory.resolve(JsonSnapshot.fileName(JsonSnapshot.PATIENTS, 1));
+        Files.delete(stuck);
+        Files.createDirectory(stuck);
+        Files.createFile(stuck.resolve("in the way"));
+        assertEquals(3, snapshot.save(al, ml, pl, dl));
+        assertEquals(3, snapshot.current().getNumber());
+        assertFalse(Files.exists(directory.resolve(JsonSnapshot.fileName(JsonSnapshot.DOCTORS, 1))));
+
+        // once it can be deleted, the next save deletes it along with generation 2
+        Files.delete(stuck.resolve("in the way"));
+        assertEquals(4, snapshot.save(al, ml, pl, dl));
+        assertFalse(Files.exists(stuck));
+        assertFalse(Files.exists(directory.resolve(JsonSnapshot.fileName(JsonSnapshot.PATIENTS, 2))));
+        assertEquals(1, snapshot.current().reader(JsonSnapshot.PATIENTS).readPatientList().length());
+    }
+
+    @Test
+    void testSaveCutShort() throws IOException {
+        snapshot.save(al, ml, pl, dl);
+        // a save of generation 2 that crashed after writing some of its files, and before the manifest was renamed
+        Files.write(directory.resolve(JsonSnapshot.fileName(JsonSnapshot.PATIENTS, 2)),
+                "{\"patients\": [{\"na".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve(JsonSnapshot.MANIFEST + ".tmp"), "{\"gener".getBytes(StandardCharsets.UTF_8));
+
+        JsonSnapshot.Generation saved = snapshot.current();
+        assertEquals(1, saved.getNumber());
+        assertEquals(1, saved.reader(JsonSnapshot.PATIENTS).readPatientList().length());
+
+        pl.addPatient(new Patient("Andie", 2345));
+        assertEquals(2, snapshot.save(al, ml, pl, dl));
+        assertEquals(2, snapshot.current().reader(JsonSnapshot.PATIENTS).readPatientList().length());
+        assertEquals(1, snapshot.current().reader(JsonSnapshot.DOCTORS).readDoctorList().length());
+    }
+
+    @Test
+    void testCompactSnapshot() throws IOException {
+        new JsonSnapshot(directory.toString(), true).save(al, ml, pl, dl);
+        String text = new String(Files.readAllBytes(directory.resolve(JsonSnapshot.fileName(JsonSnapshot.PATIENTS, 1))),
+                StandardCharsets.UTF_8);
+        assertFalse(text.contains("\n"));
+        checkPatient("Kyle", 1234, snapshot.current().reader(JsonSnapshot.PATIENTS).readPatientList().getPatients()
+                .get(0));
+    }
+}
@@ -13,7 +13,7 @@ public class JsonTest {
         assertEquals(age, m.getAge());
         assertEquals(height, m.getHeight());
         assertEquals(weight, m.getWeight());
-        assertEquals(bloodType, m.getBloodType());
+        assertEquals(bloodType, m.getBloodType().toString());
     }
 
     protected void checkPatient(String name, int id, Patient p) {
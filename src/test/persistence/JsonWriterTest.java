@@ -1,12 +1,19 @@
 package persistence;
 
 import model.*;
+import model.exceptions.DoubleBookingException;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.fail;
 
 // This test borrows heavily from the test provided in JSonSerializationDemo.
@@ -127,6 +134,7 @@ public class JsonWriterTest extends JsonTest {
             AppointmentList al = new AppointmentList();
             al.addAppointment(new Appointment("Kyle", "9:30 pm"));
             al.addAppointment(new Appointment("Andie", "4:00 am"));
+            long kyleStart = al.getAppointments().get(0).getStartMinute();
             JsonWriter writer = new JsonWriter("./data/testWriterGeneralAppointmentList.json");
             writer.open();
             writer.writeAppointmentList(al);
@@ -138,9 +146,113 @@ public class JsonWriterTest extends JsonTest {
             assertEquals(2, al.length());
             checkAppointment("Kyle", "9:30 pm", appointments.get(0));
             checkAppointment("Andie", "4:00 am", appointments.get(1));
+            assertEquals(kyleStart, appointments.get(0).getStartMinute());
 
+        } catch (IOException | DoubleBookingException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterGeneralDoctorList() {
+        try {
+            DoctorList dl = new DoctorList();
+            dl.addDoctor(new Doctor("Mika Pascual", "Cardiology"));
+            dl.addDoctor(new Doctor("Katie Short", "Oncology"));
+            JsonWriter writer = new JsonWriter("./data/testWriterGeneralDoctorList.json");
+            writer.open();
+            writer.writeDoctorList(dl);
+            writer.close();
+
+            JsonReader reader = new JsonReader("./data/testWriterGeneralDoctorList.json");
+            dl = reader.readDoctorList();
+            assertEquals(2, dl.length());
+            assertEquals("Katie Short", dl.getDoctors().get(1).getDoctorName());
+            assertEquals("Oncology", dl.getDoctors().get(1).getDepartment());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterAppointmentWithDoctor() {
+        try {
+            DoctorList dl = new DoctorList();
+            Doctor mika = new Doctor("Mika Pascual", "Cardiology");
+            dl.addDoctor(mika);
+            AppointmentList al = new AppointmentList();
+            al.addAppointment(new Appointment("Kyle", "2021-11-18 9:30 am", mika, 45));
+            al.addAppointment(new Appointment("Andie", "4:00 am"));
+            JsonWriter writer = new JsonWriter("./data/testWriterAppointmentWithDoctorList.json");
+            writer.open();
+            writer.writeAppointmentList(al);
+            writer.close();
+
+            JsonReader reader = new JsonReader("./data/testWriterAppointmentWithDoctorList.json");
+            al = reader.readAppointmentList(dl);
+            List<Appointment> appointments = al.getAppointments();
+            assertEquals(2, al.length());
+            checkAppointment("Kyle", "2021-11-18 9:30 am", appointments.get(0));
+            assertEquals(mika, appointments.get(0).getDoctor());
+            assertEquals(45, appointments.get(0).getDuration());
+            assertNull(appointments.get(1).getDoctor());
+            assertEquals(Appointment.DEFAULT_DURATION, appointments.get(1).getDuration());
+
+            reader = new JsonReader("./data/testWriterAppointmentWithDoctorList.json");
+            DoctorList other = new DoctorList();
+            al = reader.readAppointmentList(other);
+            assertEquals("Cardiology", al.getAppointments().get(0).getDoctor().getDepartment());
+            assertEquals(1, other.getDoctors().size());
+        } catch (IOException | DoubleBookingException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterCompactPatient() {
+        try {
+            PatientList pl = new PatientList();
+            pl.addPatient(new Patient("Kyle", 1234));
+            pl.addPatient(new Patient("Andie", 2345));
+            JsonWriter writer = new JsonWriter("./data/testWriterCompactPatientList.json", true);
+            writer.open();
+            writer.writePatientList(pl);
+            writer.close();
+
+            String text = new String(Files.readAllBytes(Paths.get("./data/testWriterCompactPatientList.json")),
+                    StandardCharsets.UTF_8);
+            assertFalse(text.contains("\n"));
+            assertFalse(text.contains(" "));
+
+            JsonReader reader = new JsonReader("./data/testWriterCompactPatientList.json");
+            pl = reader.readPatientList();
+            List<Patient> patients = pl.getPatients();
+            assertEquals(2, pl.length());
+            checkPatient("Kyle", 1234, patients.get(0));
+            checkPatient("Andie", 2345, patients.get(1));
         } catch (IOException e) {
             fail("Exception should not have been thrown");
         }
     }
+
+    @Test
+    void testWriterStreamsLargeList() throws IOException {
+        Path file = Files.createTempFile("patients", ".json");
+        try {
+            PatientList pl = new PatientList();
+            for (int i = 0; i < 100000; i++) {
+                pl.addPatient(new Patient("Patient \u00d1ame " + i, i));
+            }
+            JsonWriter writer = new JsonWriter(file.toString(), true);
+            writer.open();
+            writer.writePatientList(pl);
+            writer.close();
+
+            pl = new JsonReader(file.toString()).readPatientList();
+            assertEquals(100000, pl.length());
+            checkPatient("Patient \u00d1ame 99999", 99999, pl.getPatients().get(99999));
+        } finally {
+            Files.delete(file);
+        }
+    }
 }
@@ -0,0 +1,149 @@
+package persistence;
+
+import model.*;
+import model.exceptions.DoubleBookingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotLoaderTest extends JsonTest {
+    @TempDir
+    Path directory;
+    private JsonSnapshot snapshot;
+    private ExecutorService executor;
+    private List<String> loaded;
+
+    @BeforeEach
+    void runBefore() throws IOException, DoubleBookingException {
+        snapshot = new JsonSnapshot(directory.toString());
+        executor = Executors.newFixedThreadPool(SnapshotLoader.STORES, r -> {
+            Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            return thread;
+        });
+        loaded = Collections.synchronizedList(new ArrayList<>());
+
+        DoctorList dl = new DoctorList();
+        Doctor mika = new Doctor("Mika Pascual", "Cardiology");
+        dl.addDoctor(mika);
+        AppointmentList al = new AppointmentList();
+        al.addAppointment(new Appointment("Kyle", "2021-11-18 9:30 am", mika, 45));
+        MedicalRecordList ml = new MedicalRecordList();
+        ml.addMedicalRecord(new MedicalRecord("Kyle", 18, 174, 80, "O"));
+        PatientList pl = new PatientList();
+        pl.addPatient(new Patient("Kyle", 1234));
+        pl.addPatient(new Patient("Andie", 2345));
+        snapshot.save(al, ml, pl, dl);
+    }
+
+    @AfterEach
+    void runAfter() {
+        executor.shutdownNow();
+    }
+
+    // EFFECTS: loads the last generation saved, recording each store as it is loaded
+    private SnapshotLoader load() throws IOException {
+        return new SnapshotLoader(snapshot.current(), executor).load((store, failure) -> loaded.add(store)).join();
+    }
+
+    // EFFECTS: overwrites the file of store in the last generation saved with text
+    private void corrupt(String store, String text) throws IOException {
+        Files.write(directory.resolve(JsonSnapshot.fileName(store, 1)), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testLoadAll() throws IOException {
+        SnapshotLoader result = load();
+        assertTrue(result.getFailures().isEmpty());
+        assertEquals(SnapshotLoader.STORES, loaded.size());
+        assertTrue(loaded.containsAll(Arrays.asList(JsonSnapshot.APPOINTMENTS, JsonSnapshot.MEDICAL_RECORDS,
+                JsonSnapshot.PATIENTS, JsonSnapshot.DOCTORS)));
+        assertTrue(loaded.indexOf(JsonSnapshot.DOCTORS) < loaded.indexOf(JsonSnapshot.APPOINTMENTS));
+        assertEquals(1, result.getDoctorList().length());
+        Appointment a = result.getAppointmentList().getAppointments().get(0);
+        checkAppointment("Kyle", "2021-11-18 9:30 am", a);
+        assertSame(result.getDoctorList().getDoctors().get(0), a.getDoctor());
+        assertEquals(1, result.getMedicalRecordList().length());
+        checkPatient("Andie", 2345, result.getPatientList().getPatients().get(1));
+    }
+
+    @Test
+    void testOneStoreFails() throws IOException {
+        corrupt(JsonSnapshot.PATIENTS, "{\"patients\": [{\"na");
+        SnapshotLoader result = load();
+        Map<String, Exception> failures = result.getFailures();
+        assertEquals(1, failures.size());
+        assertTrue(failures.containsKey(JsonSnapshot.PATIENTS));
+        assertNull(result.getPatientList());
+        assertEquals(1, result.getMedicalRecordList().length());
+        assertEquals(1, result.getAppointmentList().length());
+        assertEquals(SnapshotLoader.STORES, loaded.size());
+    }
+
+    @Test
+    void testInvalidStoreFails() throws IOException {
+        corrupt(JsonSnapshot.MEDICAL_RECORDS, "{\"medical records\": [{\"name\": \"Kyle\", \"age\": 18, "
+                + "\"height\": 174, \"weight\": 80, \"blood type\": \"XYZ\"}]}");
+        SnapshotLoader result = load();
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().get(JsonSnapshot.MEDICAL_RECORDS) instanceof IllegalArgumentException);
+        assertNull(result.getMedicalRecordList());
+        assertEquals(2, result.getPatientList().length());
+        assertEquals(1, result.getAppointmentList().length());
+        assertEquals(SnapshotLoader.STORES, loaded.size());
+    }
+
+    @Test
+    void testDoctorsFail() throws IOException {
+        Files.delete(directory.resolve(JsonSnapshot.fileName(JsonSnapshot.DOCTORS, 1)));
+        SnapshotLoader result = load();
+        assertEquals(2, result.getFailures().size());
+        assertTrue(result.getFailures().get(JsonSnapshot.DOCTORS) instanceof IOException);
+        assertTrue(result.getFailures().get(JsonSnapshot.APPOINTMENTS) instanceof IOException);
+        assertNull(result.getDoctorList());
+        assertNull(result.getAppointmentList());
+        assertEquals(2, result.getPatientList().length());
+    }
+
+    @Test
+    void testStoresLoadInParallel() throws IOException {
+        CyclicBarrier together = new CyclicBarrier(SnapshotLoader.STORES - 1);
+        AtomicInteger tasks = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        // the doctors, medical records and patients are each held back until all three are being loaded at once
+        SnapshotLoader loader = new SnapshotLoader(snapshot.current(), task -> executor.execute(() -> {
+            if (tasks.incrementAndGet() < SnapshotLoader.STORES) {
+                try {
+                    together.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                    overlapped.set(false);
+                }
+            }
+            task.run();
+        }));
+        assertTrue(loader.load((store, failure) -> loaded.add(store)).join().getFailures().isEmpty());
+        assertTrue(overlapped.get());
+        assertEquals(SnapshotLoader.STORES, tasks.get());
+    }
+}